@@ -0,0 +1,39 @@
+package contracts.order
+
+import org.springframework.cloud.contract.spec.Contract
+
+Contract.make {
+    request {
+        method POST()
+        url "/api/v1/orders/status-changes"
+        headers {
+            contentType("application/json")
+        }
+        body([
+                orderIds: ["01226N0640J7Q", "01226N0693HDH"],
+                status: "PAID"
+        ])
+    }
+    response {
+        status 200
+        headers {
+            contentType('application/json')
+        }
+        body([
+                status: "PAID",
+                changed: 1,
+                failed: 1,
+                results: [
+                        [
+                                orderId: "01226N0640J7Q",
+                                changed: true
+                        ],
+                        [
+                                orderId: "01226N0693HDH",
+                                changed: false,
+                                error: anyNonBlankString()
+                        ]
+                ]
+        ])
+    }
+}
@@ -0,0 +1,43 @@
+package contracts.productAdjustment
+
+import org.springframework.cloud.contract.spec.Contract
+
+Contract.make {
+    request {
+        method POST()
+        url "/api/v1/product-adjustments"
+        headers {
+            contentType("application/x-ndjson")
+        }
+        body('''{"productId":"a1b2c3d4-e5f6-7890-abcd-ef1234567890","price":10.50}
+
+{"productId":"b2c3d4e5-f6a7-8901-bcde-f12345678901","available":false}
+{not json
+{"price":5}
+''')
+    }
+    response {
+        status 200
+        headers {
+            contentType('application/json')
+        }
+        body([
+                received: 4,
+                accepted: 2,
+                rejected: 2,
+                adjustedProducts: 2,
+                updatedItems: 3,
+                updatedShoppingCarts: 1,
+                errors: [
+                        [
+                                line: 4,
+                                error: "Malformed JSON"
+                        ],
+                        [
+                                line: 5,
+                                error: "productId is required"
+                        ]
+                ]
+        ])
+    }
+}
@@ -0,0 +1,187 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.IdGenerator;
+import com.algaworks.algashop.ordering.infrastructure.persistence.commons.AddressEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.*;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+import io.hypersistence.tsid.TSID;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.convention.NamingConventions;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara os mapeamentos gerados pelo MapStruct com a configuração do ModelMapper que eles substituíram,
+ * nos dois caminhos de consulta (detalhe do pedido e carrinho). Rodar com ./gradlew jmh;
+ * o profiler gc mostra também a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OutputMapperBenchmark {
+
+    private static final int ITEMS = 5;
+
+    private Mapper modelMapper;
+    private Mapper mapStructMapper;
+    private OrderPersistenceEntity order;
+    private ShoppingCartPersistenceEntity shoppingCart;
+
+    @Setup
+    public void setup() {
+        modelMapper = modelMapper();
+        mapStructMapper = new MapStructMapper(
+                Mappers.getMapper(OrderOutputMapper.class),
+                Mappers.getMapper(ShoppingCartOutputMapper.class),
+                Mappers.getMapper(CustomerOutputMapper.class));
+        order = order();
+        shoppingCart = shoppingCart();
+    }
+
+    @Benchmark
+    public OrderDetailOutput orderDetailWithModelMapper() {
+        return modelMapper.convert(order, OrderDetailOutput.class);
+    }
+
+    @Benchmark
+    public OrderDetailOutput orderDetailWithMapStruct() {
+        return mapStructMapper.convert(order, OrderDetailOutput.class);
+    }
+
+    @Benchmark
+    public ShoppingCartOutput shoppingCartWithModelMapper() {
+        return modelMapper.convert(shoppingCart, ShoppingCartOutput.class);
+    }
+
+    @Benchmark
+    public ShoppingCartOutput shoppingCartWithMapStruct() {
+        return mapStructMapper.convert(shoppingCart, ShoppingCartOutput.class);
+    }
+
+    // configuração usada até a troca pelo MapStruct, restrita aos pares de consulta
+    private static Mapper modelMapper() {
+        Converter<Long, String> longToStringTSIDConverter = context ->
+                context.getSource() == null ? null : new TSID(context.getSource()).toString();
+
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSourceNamingConvention(NamingConventions.NONE)
+                .setDestinationNamingConvention(NamingConventions.NONE)
+                .setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapper.createTypeMap(OrderPersistenceEntity.class, OrderDetailOutput.class)
+                .addMappings(mapping -> mapping.using(longToStringTSIDConverter)
+                        .map(OrderPersistenceEntity::getId, OrderDetailOutput::setId));
+        modelMapper.createTypeMap(OrderItemPersistenceEntity.class, OrderItemDetailOutput.class)
+                .addMappings(mapping -> mapping.using(longToStringTSIDConverter)
+                        .map(OrderItemPersistenceEntity::getId, OrderItemDetailOutput::setId))
+                .addMappings(mapping -> mapping.using(longToStringTSIDConverter)
+                        .map(OrderItemPersistenceEntity::getOrderId, OrderItemDetailOutput::setOrderId));
+        return modelMapper::map;
+    }
+
+    private static OrderPersistenceEntity order() {
+        Set<OrderItemPersistenceEntity> items = new HashSet<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(OrderItemPersistenceEntity.builder()
+                    .id(IdGenerator.generateTSID().toLong())
+                    .productId(UUID.randomUUID())
+                    .productName("Product " + i)
+                    .price(new BigDecimal("100.00"))
+                    .quantity(2)
+                    .totalAmount(new BigDecimal("200.00"))
+                    .build());
+        }
+        return OrderPersistenceEntity.builder()
+                .id(IdGenerator.generateTSID().toLong())
+                .customer(customer())
+                .totalItems(ITEMS * 2)
+                .totalAmount(new BigDecimal("1000.00"))
+                .status("PLACED")
+                .paymentMethod("CREDIT_CARD")
+                .placedAt(OffsetDateTime.now())
+                .billing(BillingEmbeddable.builder()
+                        .firstName("Matt")
+                        .lastName("Damon")
+                        .document("123-45-6789")
+                        .email("matt.damon@email.com")
+                        .phone("123-321-1112")
+                        .address(address())
+                        .build())
+                .shipping(ShippingEmbeddable.builder()
+                        .cost(new BigDecimal("35.00"))
+                        .expectedDate(LocalDate.now().plusDays(7))
+                        .recipient(RecipientEmbeddable.builder()
+                                .firstName("John")
+                                .lastName("Doe")
+                                .document("255-08-0578")
+                                .phone("478-256-2604")
+                                .build())
+                        .address(address())
+                        .build())
+                .items(items)
+                .build();
+    }
+
+    private static ShoppingCartPersistenceEntity shoppingCart() {
+        Set<ShoppingCartItemPersistenceEntity> items = new HashSet<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(ShoppingCartItemPersistenceEntity.builder()
+                    .id(UUID.randomUUID())
+                    .productId(UUID.randomUUID())
+                    .name("Product " + i)
+                    .price(new BigDecimal("100.00"))
+                    .quantity(2)
+                    .totalAmount(new BigDecimal("200.00"))
+                    .available(true)
+                    .build());
+        }
+        return ShoppingCartPersistenceEntity.builder()
+                .id(UUID.randomUUID())
+                .customer(customer())
+                .totalItems(ITEMS * 2)
+                .totalAmount(new BigDecimal("1000.00"))
+                .createdAt(OffsetDateTime.now())
+                .items(items)
+                .build();
+    }
+
+    private static CustomerPersistenceEntity customer() {
+        return CustomerPersistenceEntity.builder()
+                .id(UUID.randomUUID())
+                .firstName("John")
+                .lastName("Doe")
+                .email("johndoe@email.com")
+                .phone("478-256-2604")
+                .document("255-08-0578")
+                .address(address())
+                .build();
+    }
+
+    private static AddressEmbeddable address() {
+        return AddressEmbeddable.builder()
+                .street("Elm Street")
+                .number("456")
+                .complement("House A")
+                .neighborhood("Central Park")
+                .city("Springfield")
+                .state("Illinois")
+                .zipCode("62704")
+                .build();
+    }
+}
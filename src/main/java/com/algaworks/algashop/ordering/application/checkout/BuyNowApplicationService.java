@@ -1,5 +1,8 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.utility.ConcurrentReads;
+import com.algaworks.algashop.ordering.application.utility.Deadline;
 import com.algaworks.algashop.ordering.domain.model.DomainException;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
@@ -16,7 +19,7 @@ import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import com.algaworks.algashop.ordering.domain.model.product.ProductNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Objects;
 
@@ -35,10 +38,22 @@ public class BuyNowApplicationService {
 
     private final ShippingInputDisassembler shippingInputDisassembler;
     private final BillingInputDisassembler billingInputDisassembler;
+    private final OrderDetailOutputAssembler orderDetailOutputAssembler;
 
-    @Transactional
-    public String buyNow(BuyNowInput input) {
+    private final TransactionTemplate transactionTemplate;
+
+    // produto e frete são obtidos antes da transação, que fica só com a leitura do cliente e a gravação do pedido
+    public OrderDetailOutput buyNow(BuyNowInput input) {
+        return buyNow(input, Deadline.none());
+    }
+
+    public OrderDetailOutput buyNow(BuyNowInput input, Deadline deadline) {
         Objects.requireNonNull(input);
+        Objects.requireNonNull(deadline);
+        return deadline.run(() -> placeOrder(input, deadline));
+    }
+
+    private OrderDetailOutput placeOrder(BuyNowInput input, Deadline deadline) {
 
         PaymentMethod paymentMethod = PaymentMethod.valueOf(input.getPaymentMethod());
         CustomerId customerId = new CustomerId(input.getCustomerId());
@@ -53,23 +68,42 @@ public class BuyNowApplicationService {
             creditCardId = new CreditCardId(input.getCreditCardId());
         }
 
-        Customer customer = customers.ofId(customerId).orElseThrow(() -> new CustomerNotFoundException(customerId));
+        Product product;
+        ShippingCostService.CalculationResult shippingCalculationResult;
+        try (var reads = new ConcurrentReads()) {
+            var catalogProduct = reads.fork(() -> productCatalogService.ofId(productId)
+                    .orElseThrow(()-> new ProductNotFoundException(productId)));
+            var shippingCost = reads.fork(() -> calculateShippingCost(input.getShipping()));
 
-        Product product = productCatalogService.ofId(productId)
-                .orElseThrow(()-> new ProductNotFoundException(productId));
+            if (!customers.exists(customerId)) {
+                throw new CustomerNotFoundException(customerId);
+            }
 
-        var shippingCalculationResult = calculateShippingCost(input.getShipping());
+            reads.join();
+            product = catalogProduct.get();
+            shippingCalculationResult = shippingCost.get();
+        }
+        deadline.checkpoint("product lookup and shipping quote");
 
         Shipping shipping = shippingInputDisassembler.toDomainModel(input.getShipping(),
                 shippingCalculationResult);
 
         Billing billing = billingInputDisassembler.toDomainModel(input.getBilling());
+        CreditCardId chosenCreditCardId = creditCardId;
+
+        OrderDetailOutput output = deadline.bound(transactionTemplate).execute(status -> {
+            Customer customer = customers.ofId(customerId).orElseThrow(() -> new CustomerNotFoundException(customerId));
+
+            Order placedOrder = buyNowService.buyNow(product, customer, billing, shipping, quantity,
+                    paymentMethod, chosenCreditCardId);
 
-        Order order = buyNowService.buyNow(product, customer, billing, shipping, quantity, paymentMethod, creditCardId);
+            orders.add(placedOrder);
 
-        orders.add(order);
+            return orderDetailOutputAssembler.toOutput(placedOrder, customer);
+        });
+        deadline.report("order persistence");
 
-        return order.id().toString();
+        return output;
     }
 
     private ShippingCostService.CalculationResult calculateShippingCost(ShippingInput shipping) {
@@ -1,5 +1,8 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.utility.ConcurrentReads;
+import com.algaworks.algashop.ordering.application.utility.Deadline;
 import com.algaworks.algashop.ordering.domain.model.DomainException;
 import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
@@ -9,12 +12,13 @@ import com.algaworks.algashop.ordering.domain.model.order.*;
 import com.algaworks.algashop.ordering.domain.model.order.shipping.OriginAddressService;
 import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartCantProceedToCheckoutException;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCarts;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Objects;
 
@@ -29,13 +33,25 @@ public class CheckoutApplicationService {
 
     private final BillingInputDisassembler billingInputDisassembler;
     private final ShippingInputDisassembler shippingInputDisassembler;
+    private final OrderDetailOutputAssembler orderDetailOutputAssembler;
 
     private final ShippingCostService shippingCostService;
     private final OriginAddressService originAddressService;
 
-    @Transactional
-    public String checkout(CheckoutInput input) {
+    private final TransactionTemplate transactionTemplate;
+// o frete é cotado fora da transação; a fase transacional recarrega carrinho e cliente e refaz as validações
+     */
+    public OrderDetailOutput checkout(CheckoutInput input) {
+        return checkout(input, Deadline.none());
+    }
+
+    public OrderDetailOutput checkout(CheckoutInput input, Deadline deadline) {
         Objects.requireNonNull(input);
+        Objects.requireNonNull(deadline);
+        return deadline.run(() -> placeOrder(input, deadline));
+    }
+
+    private OrderDetailOutput placeOrder(CheckoutInput input, Deadline deadline) {
         PaymentMethod paymentMethod = PaymentMethod.valueOf(input.getPaymentMethod());
 
         CreditCardId creditCardId = null;
@@ -48,22 +64,47 @@ public class CheckoutApplicationService {
         }
 
         ShoppingCartId shoppingCartId = new ShoppingCartId(input.getShoppingCartId());
-        ShoppingCart shoppingCart = shoppingCarts.ofId(shoppingCartId)
-                .orElseThrow(ShoppingCartNotFoundException::new);
 
-        Customer customer = customers.ofId(shoppingCart.customerId()).orElseThrow(CustomerNotFoundException::new);
+        ShippingCostService.CalculationResult shippingCalculationResult;
+        try (var reads = new ConcurrentReads()) {
+            var shippingCost = reads.fork(() -> calculateShippingCost(input.getShipping()));
+            ensureCanProceedToCheckout(shoppingCartId);
+            reads.join();
+            shippingCalculationResult = shippingCost.get();
+        }
+        deadline.checkpoint("cart validation and shipping quote");
+
+        Billing billing = billingInputDisassembler.toDomainModel(input.getBilling());
+        Shipping shipping = shippingInputDisassembler.toDomainModel(input.getShipping(), shippingCalculationResult);
+        CreditCardId chosenCreditCardId = creditCardId;
 
-        var shippingCalculationResult = calculateShippingCost(input.getShipping());
+        OrderDetailOutput output = deadline.bound(transactionTemplate).execute(status -> {
+            ShoppingCart shoppingCart = shoppingCarts.ofId(shoppingCartId)
+                    .orElseThrow(ShoppingCartNotFoundException::new);
 
-        Order order = checkoutService.checkout(customer, shoppingCart,
-                billingInputDisassembler.toDomainModel(input.getBilling()),
-                shippingInputDisassembler.toDomainModel(input.getShipping(), shippingCalculationResult),
-                paymentMethod, creditCardId);
+            Customer customer = customers.ofId(shoppingCart.customerId()).orElseThrow(CustomerNotFoundException::new);
 
-        orders.add(order);
-        shoppingCarts.add(shoppingCart);
+            Order placedOrder = checkoutService.checkout(customer, shoppingCart, billing, shipping,
+                    paymentMethod, chosenCreditCardId);
 
-        return order.id().toString();
+            orders.add(placedOrder);
+            shoppingCarts.add(shoppingCart);
+
+            return orderDetailOutputAssembler.toOutput(placedOrder, customer);
+        });
+        deadline.report("order persistence");
+
+        return output;
+    }
+
+    // falha cedo, antes da cotação remota
+    private void ensureCanProceedToCheckout(ShoppingCartId shoppingCartId) {
+        ShoppingCart shoppingCart = shoppingCarts.ofId(shoppingCartId)
+                .orElseThrow(ShoppingCartNotFoundException::new);
+
+        if (shoppingCart.isEmpty() || shoppingCart.containsUnavailableItems()) {
+            throw new ShoppingCartCantProceedToCheckoutException();
+        }
     }
 
     private ShippingCostService.CalculationResult calculateShippingCost(ShippingInput shipping) {
@@ -0,0 +1,102 @@
+package com.algaworks.algashop.ordering.application.checkout;
+
+import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.order.query.*;
+import com.algaworks.algashop.ordering.domain.model.commons.Address;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.order.*;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// monta a resposta a partir do agregado recém-persistido, sem reler o banco; itens ordenados por id, como na consulta.
+// placedAt mantém a precisão do relógio, enquanto o banco arredonda para microssegundos
+@Component
+class OrderDetailOutputAssembler {
+
+    public OrderDetailOutput toOutput(Order order, Customer customer) {
+        String orderId = order.id().toString();
+
+        List<OrderItemDetailOutput> items = order.items().stream()
+                .sorted(Comparator.comparingLong(item -> item.id().value().toLong()))
+                .map(item -> toItemOutput(item, orderId))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return OrderDetailOutput.builder()
+                .id(orderId)
+                .customer(CustomerMinimalOutput.builder()
+                        .id(customer.id().value())
+                        .firstName(customer.fullName().firstName())
+                        .lastName(customer.fullName().lastName())
+                        .email(customer.email().value())
+                        .document(customer.document().value())
+                        .phone(customer.phone().value())
+                        .build())
+                .totalItems(order.totalItems().value())
+                .totalAmount(order.totalAmount().value())
+                .placedAt(order.placedAt())
+                .paidAt(order.paidAt())
+                .canceledAt(order.canceledAt())
+                .readyAt(order.readyAt())
+                .status(order.status().name())
+                .paymentMethod(order.paymentMethod().name())
+                .creditCardId(order.creditCardId() == null ? null : order.creditCardId().id())
+                .shipping(toShippingData(order.shipping()))
+                .billing(toBillingData(order.billing()))
+                .items(items)
+                .build();
+    }
+
+    private OrderItemDetailOutput toItemOutput(OrderItem item, String orderId) {
+        return OrderItemDetailOutput.builder()
+                .id(item.id().toString())
+                .orderId(orderId)
+                .productId(item.productId().value())
+                .productName(item.productName().value())
+                .price(item.price().value())
+                .quantity(item.quantity().value())
+                .totalAmount(item.totalAmount().value())
+                .build();
+    }
+
+    private ShippingData toShippingData(Shipping shipping) {
+        Recipient recipient = shipping.recipient();
+        return ShippingData.builder()
+                .cost(shipping.cost().value())
+                .expectedDate(shipping.expectedDate())
+                .recipient(RecipientData.builder()
+                        .firstName(recipient.fullName().firstName())
+                        .lastName(recipient.fullName().lastName())
+                        .document(recipient.document().value())
+                        .phone(recipient.phone().value())
+                        .build())
+                .address(toAddressData(shipping.address()))
+                .build();
+    }
+
+    private BillingData toBillingData(Billing billing) {
+        return BillingData.builder()
+                .firstName(billing.fullName().firstName())
+                .lastName(billing.fullName().lastName())
+                .document(billing.document().value())
+                .email(billing.email().value())
+                .phone(billing.phone().value())
+                .address(toAddressData(billing.address()))
+                .build();
+    }
+
+    private AddressData toAddressData(Address address) {
+        return AddressData.builder()
+                .street(address.street())
+                .number(address.number())
+                .complement(address.complement())
+                .neighborhood(address.neighborhood())
+                .city(address.city())
+                .state(address.state())
+                .zipCode(address.zipCode().value())
+                .build();
+    }
+}
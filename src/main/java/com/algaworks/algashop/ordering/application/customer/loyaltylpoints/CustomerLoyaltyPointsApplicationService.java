@@ -17,6 +17,7 @@ import java.util.UUID;
 public class CustomerLoyaltyPointsApplicationService {
 
     private final CustomerLoyaltyPointsService customerLoyaltyPointsService;
+    private final CustomerLoyaltyPointsAccrualService customerLoyaltyPointsAccrualService;
     private final Customers customers;
     private final Orders orders;
     private final Mapper mapper;
@@ -31,9 +32,9 @@ public class CustomerLoyaltyPointsApplicationService {
         Customer customer = customers.ofId(customerId)
                 .orElseThrow(CustomerNotFoundException::new);
 
-        customerLoyaltyPointsService.addPoints(customer, order);
+        LoyaltyPoints points = customerLoyaltyPointsService.pointsFor(customer, order);
 
-        customers.add(customer);
+        customerLoyaltyPointsAccrualService.credit(customerId, orderId, points);
     }
 
 }
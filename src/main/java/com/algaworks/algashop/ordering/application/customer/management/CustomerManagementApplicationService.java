@@ -1,6 +1,8 @@
 package com.algaworks.algashop.ordering.application.customer.management;
 
 import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
 import com.algaworks.algashop.ordering.domain.model.commons.*;
 import com.algaworks.algashop.ordering.domain.model.customer.*;
 import lombok.RequiredArgsConstructor;
@@ -16,9 +18,10 @@ public class CustomerManagementApplicationService {
 
     private final CustomerRegistrationService customerRegistration;
     private final Customers customers;
+    private final Mapper mapper;
 
     @Transactional
-    public UUID create(CustomerInput input) {
+    public CustomerOutput create(CustomerInput input) {
         Objects.requireNonNull(input);
         AddressData address = input.getAddress();
 
@@ -42,11 +45,11 @@ public class CustomerManagementApplicationService {
 
         customers.add(register);
 
-        return register.id().value();
+        return mapper.convert(register, CustomerOutput.class);
     }
 
     @Transactional
-    public void update(UUID rawCustomerId, CustomerUpdateInput input) {
+    public CustomerOutput update(UUID rawCustomerId, CustomerUpdateInput input) {
         Objects.requireNonNull(input);
         Objects.requireNonNull(rawCustomerId);
 
@@ -76,6 +79,8 @@ public class CustomerManagementApplicationService {
         );
 
         customers.add(customer);
+
+        return mapper.convert(customer, CustomerOutput.class);
     }
 
     @Transactional
@@ -1,44 +1,80 @@
 package com.algaworks.algashop.ordering.application.order.management;
 
-import com.algaworks.algashop.ordering.domain.model.order.Order;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
-import com.algaworks.algashop.ordering.domain.model.order.OrderNotFoundException;
-import com.algaworks.algashop.ordering.domain.model.order.Orders;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatusTransitionResult;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatusTransitionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 public class OrderManagementApplicationService {
 
-    private final Orders orders;
+    private static final int STATUS_BATCH_CHUNK_SIZE = 500;
+
+    private final OrderStatusTransitionService orderStatusTransitionService;
 
     @Transactional
     public void cancel(String rawOrderId) {
-        Order order = findOrder(rawOrderId);
-        order.cancel();
-        orders.add(order);
+        orderStatusTransitionService.cancel(new OrderId(rawOrderId));
     }
 
     @Transactional
     public void markAsPaid(String rawOrderId) {
-        Order order = findOrder(rawOrderId);
-        order.markAsPaid();
-        orders.add(order);
+        orderStatusTransitionService.markAsPaid(new OrderId(rawOrderId));
     }
 
     @Transactional
     public void markAsReady(String rawOrderId) {
-        Order order = findOrder(rawOrderId);
-        order.markAsReady();
-        orders.add(order);
+        orderStatusTransitionService.markAsReady(new OrderId(rawOrderId));
     }
 
-    private Order findOrder(String rawOrderId) {
-        OrderId orderId = new OrderId(rawOrderId);
-        return orders.ofId(orderId)
-                .orElseThrow(OrderNotFoundException::new);
+    // cada bloco roda na sua própria transação: uma falha em um bloco não desfaz os anteriores
+    public OrderStatusBatchOutput changeStatus(OrderStatusBatchInput input) {
+        Objects.requireNonNull(input);
+        OrderStatus newStatus = OrderStatus.valueOf(input.getStatus());
+
+        List<OrderStatusChangeOutput> results = new ArrayList<>();
+        List<OrderId> orderIds = new ArrayList<>();
+
+        for (String rawOrderId : new LinkedHashSet<>(input.getOrderIds())) {
+            try {
+                orderIds.add(new OrderId(rawOrderId));
+            } catch (IllegalArgumentException e) {
+                results.add(OrderStatusChangeOutput.builder()
+                        .orderId(rawOrderId)
+                        .changed(false)
+                        .error("Invalid order id")
+                        .build());
+            }
+        }
+
+        for (int start = 0; start < orderIds.size(); start += STATUS_BATCH_CHUNK_SIZE) {
+            List<OrderId> chunk = orderIds.subList(start, Math.min(start + STATUS_BATCH_CHUNK_SIZE, orderIds.size()));
+            for (OrderStatusTransitionResult result : orderStatusTransitionService.changeStatus(chunk, newStatus)) {
+                results.add(OrderStatusChangeOutput.builder()
+                        .orderId(result.orderId().toString())
+                        .changed(result.changed())
+                        .error(result.failure())
+                        .build());
+            }
+        }
+
+        int changed = (int) results.stream().filter(OrderStatusChangeOutput::isChanged).count();
+
+        return OrderStatusBatchOutput.builder()
+                .status(newStatus.name())
+                .changed(changed)
+                .failed(results.size() - changed)
+                .results(results)
+                .build();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.algaworks.algashop.ordering.application.order.management;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusBatchInput {
+    @NotEmpty
+    @Size(max = 5000)
+    @Builder.Default
+    private List<@NotBlank String> orderIds = new ArrayList<>();
+
+    @NotBlank
+    @Pattern(regexp = "PAID|READY|CANCELED")
+    private String status;
+}
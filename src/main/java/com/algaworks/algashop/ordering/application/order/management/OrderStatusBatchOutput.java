@@ -0,0 +1,22 @@
+package com.algaworks.algashop.ordering.application.order.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusBatchOutput {
+    private String status;
+    private int changed;
+    private int failed;
+
+    @Builder.Default
+    private List<OrderStatusChangeOutput> results = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.algaworks.algashop.ordering.application.order.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusChangeOutput {
+    private String orderId;
+    private boolean changed;
+    private String error;
+}
@@ -22,10 +22,18 @@ public class OrderFilter extends SortablePageFilter<OrderFilter.SortType> {
     private BigDecimal totalAmountFrom;
     private BigDecimal totalAmountTo;
 
+    private String after;
+    private boolean keyset;
+    private boolean withTotal;
+
     public OrderFilter(int size, int page) {
         super(size, page);
     }
 
+    public boolean isKeysetPagination() {
+        return keyset || (after != null && !after.isBlank());
+    }
+
     @Override
     public SortType getSortByPropertyOrDefault() {
         return getSortByProperty() == null ? SortType.PLACED_AT : getSortByProperty();
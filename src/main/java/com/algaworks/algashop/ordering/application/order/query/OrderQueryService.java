@@ -1,8 +1,10 @@
 package com.algaworks.algashop.ordering.application.order.query;
 
+import com.algaworks.algashop.ordering.application.utility.CursorPage;
 import org.springframework.data.domain.Page;
 
 public interface OrderQueryService {
     OrderDetailOutput findById(String id);
     Page<OrderSummaryOutput> filter(OrderFilter filter);
+    CursorPage<OrderSummaryOutput> filterAfter(OrderFilter filter);
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustment;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustmentSummary;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ProductAdjustmentApplicationService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ShoppingCartProductAdjustmentService shoppingCartProductAdjustmentService;
+    private final ObjectMapper objectMapper;
+
+    // as linhas são lidas sob demanda; as inválidas são contadas e relatadas sem abortar a importação
+    public ProductAdjustmentImportOutput importAdjustments(Stream<String> ndjsonLines) {
+        Objects.requireNonNull(ndjsonLines);
+        ObjectReader reader = objectMapper.readerFor(ProductAdjustmentInput.class);
+
+        AtomicLong lineNumber = new AtomicLong();
+        AtomicLong received = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<ProductAdjustmentErrorOutput> errors = new ArrayList<>();
+
+        Stream<ProductAdjustment> adjustments = ndjsonLines
+                .map(line -> new NumberedLine(lineNumber.incrementAndGet(), line))
+                .filter(numberedLine -> !numberedLine.content().isBlank())
+                .map(numberedLine -> {
+                    received.incrementAndGet();
+                    try {
+                        return Optional.of(toAdjustment(reader.readValue(numberedLine.content())));
+                    } catch (JsonProcessingException e) {
+                        reject(numberedLine.number(), "Malformed JSON", rejected, errors);
+                    } catch (IllegalArgumentException e) {
+                        reject(numberedLine.number(), e.getMessage(), rejected, errors);
+                    }
+                    return Optional.<ProductAdjustment>empty();
+                })
+                .flatMap(Optional::stream);
+
+        ProductAdjustmentSummary summary = shoppingCartProductAdjustmentService.adjustAll(adjustments);
+
+        return ProductAdjustmentImportOutput.builder()
+                .received(received.get())
+                .accepted(received.get() - rejected.get())
+                .rejected(rejected.get())
+                .adjustedProducts(summary.adjustedProducts())
+                .updatedItems(summary.updatedItems())
+                .updatedShoppingCarts(summary.updatedShoppingCarts())
+                .errors(errors)
+                .build();
+    }
+
+    private ProductAdjustment toAdjustment(ProductAdjustmentInput input) {
+        if (input == null || input.getProductId() == null) {
+            throw new IllegalArgumentException("productId is required");
+        }
+        if (input.getPrice() == null && input.getAvailable() == null) {
+            throw new IllegalArgumentException("price or available is required");
+        }
+        if (input.getPrice() != null && input.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        Money price = input.getPrice() == null ? null : new Money(input.getPrice());
+        return new ProductAdjustment(new ProductId(input.getProductId()), price, input.getAvailable());
+    }
+
+    private void reject(long line, String error, AtomicLong rejected,
+                        List<ProductAdjustmentErrorOutput> errors) {
+        rejected.incrementAndGet();
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ProductAdjustmentErrorOutput(line, error));
+        }
+    }
+
+    private record NumberedLine(long number, String content) {
+    }
+}
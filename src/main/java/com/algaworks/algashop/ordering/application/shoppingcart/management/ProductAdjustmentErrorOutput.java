@@ -0,0 +1,15 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductAdjustmentErrorOutput {
+	private Long line;
+	private String error;
+}
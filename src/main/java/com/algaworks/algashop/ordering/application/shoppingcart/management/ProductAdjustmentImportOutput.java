@@ -0,0 +1,24 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductAdjustmentImportOutput {
+	private Long received;
+	private Long accepted;
+	private Long rejected;
+	private Long adjustedProducts;
+	private Long updatedItems;
+	private Long updatedShoppingCarts;
+	@Builder.Default
+	private List<ProductAdjustmentErrorOutput> errors = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductAdjustmentInput {
+	private UUID productId;
+	private BigDecimal price;
+	private Boolean available;
+}
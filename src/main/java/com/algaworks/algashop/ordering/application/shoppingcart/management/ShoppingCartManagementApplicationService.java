@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.application.shoppingcart.management;
 
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.product.Product;
@@ -21,6 +22,7 @@ public class ShoppingCartManagementApplicationService {
     private final ShoppingCarts shoppingCarts;
     private final ProductCatalogService productCatalogService;
     private final ShoppingService shoppingService;
+    private final ShoppingCartOutputAssembler shoppingCartOutputAssembler;
 
     @Transactional
     public void addItem(ShoppingCartItemInput input) {
@@ -39,11 +41,11 @@ public class ShoppingCartManagementApplicationService {
     }
 
     @Transactional
-    public UUID createNew(UUID rawCustomerId) {
+    public ShoppingCartOutput createNew(UUID rawCustomerId) {
         Objects.requireNonNull(rawCustomerId);
         ShoppingCart shoppingCart = shoppingService.startShopping(new CustomerId(rawCustomerId));
         shoppingCarts.add(shoppingCart);
-        return shoppingCart.id().value();
+        return shoppingCartOutputAssembler.toOutput(shoppingCart);
     }
 
     @Transactional
@@ -0,0 +1,38 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartItemOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+@Component
+class ShoppingCartOutputAssembler {
+
+    public ShoppingCartOutput toOutput(ShoppingCart shoppingCart) {
+        return ShoppingCartOutput.builder()
+                .id(shoppingCart.id().value())
+                .customerId(shoppingCart.customerId().value())
+                .totalItems(shoppingCart.totalItems().value())
+                .totalAmount(shoppingCart.totalAmount().value())
+                .items(shoppingCart.items().stream()
+                        .map(this::toItemOutput)
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+
+    private ShoppingCartItemOutput toItemOutput(ShoppingCartItem item) {
+        return ShoppingCartItemOutput.builder()
+                .id(item.id().value())
+                .productId(item.productId().value())
+                .name(item.name().value())
+                .price(item.price().value())
+                .quantity(item.quantity().value())
+                .totalAmount(item.totalAmount().value())
+                .available(item.isAvailable())
+                .build();
+    }
+}
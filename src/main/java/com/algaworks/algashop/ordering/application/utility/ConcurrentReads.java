@@ -0,0 +1,80 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+// como o StructuredTaskScope.ShutdownOnFailure (preview no Java 21): a primeira falha cancela os demais ramos
+public final class ConcurrentReads implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletionService<Object> completionService = new ExecutorCompletionService<>(executor);
+    private final List<Future<Object>> forks = new ArrayList<>();
+    private boolean joined;
+
+    public <T> Supplier<T> fork(Callable<T> task) {
+        Objects.requireNonNull(task);
+        if (joined) {
+            throw new IllegalStateException("Already joined");
+        }
+
+        Deadline deadline = Deadline.current();
+        Future<Object> future = completionService.submit(() -> deadline.call(task));
+        forks.add(future);
+
+        return () -> {
+            if (!joined) {
+                throw new IllegalStateException("Not joined yet");
+            }
+            @SuppressWarnings("unchecked")
+            T result = (T) future.resultNow();
+            return result;
+        };
+    }
+
+    public void join() {
+        joined = true;
+        Deadline deadline = Deadline.current();
+        try {
+            for (int i = 0; i < forks.size(); i++) {
+                Future<Object> completed = deadline.isBounded()
+                        ? completionService.poll(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                        : completionService.take();
+                if (completed == null) {
+                    cancelAll();
+                    throw new DeadlineExceededException("Deadline exceeded while waiting concurrent reads");
+                }
+                completed.get();
+            }
+        } catch (ExecutionException e) {
+            cancelAll();
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting concurrent reads");
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.shutdownNow();
+    }
+
+    private void cancelAll() {
+        forks.forEach(f -> f.cancel(true));
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+}
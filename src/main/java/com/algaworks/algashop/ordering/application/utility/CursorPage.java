@@ -0,0 +1,26 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private int size;
+    private String nextCursor;
+    private Long totalElements;
+
+    @Builder.Default
+    private List<T> content = new ArrayList<>();
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
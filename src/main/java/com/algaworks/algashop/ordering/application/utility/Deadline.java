@@ -0,0 +1,140 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+// enquanto run() executa, o prazo fica associado à thread para que clientes HTTP e transações limitem seus timeouts
+@Slf4j
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final Deadline NONE = new Deadline("none", 0, 0);
+
+    private final String operation;
+    private final long startNanos;
+    private final long budgetNanos;
+
+    private Deadline(String operation, long startNanos, long budgetNanos) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+        this.budgetNanos = budgetNanos;
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public static Deadline after(String operation, Duration budget) {
+        Objects.requireNonNull(operation);
+        Objects.requireNonNull(budget);
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Deadline budget must be positive");
+        }
+        return new Deadline(operation, System.nanoTime(), budget.toNanos());
+    }
+
+    public static Deadline current() {
+        Deadline current = CURRENT.get();
+        return current == null ? NONE : current;
+    }
+
+    public <T> T run(Supplier<T> work) {
+        Objects.requireNonNull(work);
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    <T> T call(Callable<T> work) throws Exception {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // o prazo que acaba por último; ilimitado se qualquer um deles for
+    public static Deadline latest(Deadline first, Deadline second) {
+        if (!first.isBounded() || !second.isBounded()) {
+            return NONE;
+        }
+        return first.remainingNanos() >= second.remainingNanos() ? first : second;
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    public boolean isExpired() {
+        return isBounded() && remainingNanos() <= 0;
+    }
+
+    public Duration remaining() {
+        if (!isBounded()) {
+            throw new IllegalStateException("Unbounded deadline");
+        }
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public Duration limit(Duration timeout) {
+        if (!isBounded()) {
+            return timeout;
+        }
+        Duration remaining = remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    // o timeout da transação é em segundos inteiros, arredondado para cima
+    public TransactionTemplate bound(TransactionTemplate template) {
+        if (!isBounded()) {
+            return template;
+        }
+        TransactionTemplate bounded = new TransactionTemplate(
+                Objects.requireNonNull(template.getTransactionManager()), template);
+        long millis = remaining().toMillis();
+        bounded.setTimeout((int) Math.max(1, (millis + 999) / 1000));
+        return bounded;
+    }
+
+    public void checkpoint(String phase) {
+        if (!isBounded()) {
+            return;
+        }
+        report(phase);
+        if (isExpired()) {
+            throw new DeadlineExceededException(
+                    "Deadline of %d ms exceeded for %s after %s".formatted(budgetNanos / 1_000_000, operation, phase));
+        }
+    }
+
+    public void report(String phase) {
+        if (!isBounded()) {
+            return;
+        }
+        log.info("{} finished {} in {} ms, {} ms left", operation, phase,
+                (System.nanoTime() - startNanos) / 1_000_000, remainingNanos() / 1_000_000);
+    }
+
+    private long remainingNanos() {
+        return budgetNanos - (System.nanoTime() - startNanos);
+    }
+
+    private static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -47,6 +47,10 @@ public class ErrorMessages {
 
     public static final String ERROR_PRODUCT_NOT_FOUND = "Product %s was not found";
 
+    public static final String ERROR_ORDER_NOT_FOUND = "Order %s was not found";
+
+    public static final String ERROR_ORDER_CONCURRENTLY_MODIFIED = "Order %s was modified concurrently";
+
     public static final String ERROR_CUSTOMER_EMAIL_IS_IN_USE = "Customer email is in use";
 
     public static final String CUSTOMER_ALREADY_HAVE_SHOPPING_CART = "Customer %s already have a Shopping Cart";
@@ -0,0 +1,8 @@
+package com.algaworks.algashop.ordering.domain.model.customer;
+
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+
+public interface CustomerLoyaltyPointsAccrualService {
+    // soma os pontos ao saldo sem regravar o agregado; retorna false se o pedido já havia sido creditado
+    boolean credit(CustomerId customerId, OrderId orderId, LoyaltyPoints points);
+}
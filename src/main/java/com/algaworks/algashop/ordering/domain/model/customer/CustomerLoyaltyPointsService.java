@@ -15,6 +15,11 @@ public class CustomerLoyaltyPointsService {
     private static final Money expectedAmoundToGivePoints = new Money("1000");
 
     public void addPoints(Customer customer, Order order) {
+        customer.addLoyaltyPoints(pointsFor(customer, order));
+    }
+
+    // aplica as mesmas regras de addPoints, mas só devolve os pontos para quem grava o crédito diretamente
+    public LoyaltyPoints pointsFor(Customer customer, Order order) {
         Objects.requireNonNull(customer);
         Objects.requireNonNull(order);
 
@@ -26,12 +31,18 @@ public class CustomerLoyaltyPointsService {
             throw new CantAddLoyaltyPointsOrderIsNotReadyException();
         }
 
-        customer.addLoyaltyPoints(calculatePoints(order));
+        if (customer.isArchived()) {
+            throw new CustomerArchivedException();
+        }
+
+        return calculatePoints(order.totalAmount());
     }
 
-    private LoyaltyPoints calculatePoints(Order order) {
-        if (shouldGivePointsByAmount(order.totalAmount())) {
-            Money result = order.totalAmount().divide(expectedAmoundToGivePoints);
+    // regra de pontuação isolada do agregado, usada também pelo acúmulo em lote
+    public LoyaltyPoints calculatePoints(Money orderTotalAmount) {
+        Objects.requireNonNull(orderTotalAmount);
+        if (shouldGivePointsByAmount(orderTotalAmount)) {
+            Money result = orderTotalAmount.divide(expectedAmoundToGivePoints);
             return new LoyaltyPoints(result.value().intValue() * basePoints.value());
         }
         return LoyaltyPoints.ZERO;
@@ -0,0 +1,18 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import java.util.Objects;
+
+public record OrderStatusTransitionResult(OrderId orderId, boolean changed, String failure) {
+
+    public OrderStatusTransitionResult {
+        Objects.requireNonNull(orderId);
+    }
+
+    public static OrderStatusTransitionResult changed(OrderId orderId) {
+        return new OrderStatusTransitionResult(orderId, true, null);
+    }
+
+    public static OrderStatusTransitionResult failed(OrderId orderId, String failure) {
+        return new OrderStatusTransitionResult(orderId, false, failure);
+    }
+}
@@ -0,0 +1,11 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderStatusTransitionService {
+    void markAsPaid(OrderId orderId);
+    void markAsReady(OrderId orderId);
+    void cancel(OrderId orderId);
+    List<OrderStatusTransitionResult> changeStatus(Collection<OrderId> orderIds, OrderStatus newStatus);
+}
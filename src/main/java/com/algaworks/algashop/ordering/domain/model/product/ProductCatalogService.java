@@ -1,7 +1,10 @@
 package com.algaworks.algashop.ordering.domain.model.product;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProductCatalogService {
     Optional<Product> ofId(ProductId productId);
+    Map<ProductId, Product> ofIds(Collection<ProductId> productIds);
 }
@@ -0,0 +1,4 @@
+package com.algaworks.algashop.ordering.domain.model.product;
+
+public record ProductChangedEvent(ProductId productId) {
+}
@@ -0,0 +1,16 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+
+import java.util.Objects;
+
+// novo preço e/ou nova disponibilidade de um produto; o campo ausente (null) não é alterado
+public record ProductAdjustment(ProductId productId, Money price, Boolean available) {
+    public ProductAdjustment {
+        Objects.requireNonNull(productId);
+        if (price == null && available == null) {
+            throw new IllegalArgumentException("Price or availability is required");
+        }
+    }
+}
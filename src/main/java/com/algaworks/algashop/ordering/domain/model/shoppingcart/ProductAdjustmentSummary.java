@@ -0,0 +1,4 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+public record ProductAdjustmentSummary(long adjustedProducts, long updatedItems, long updatedShoppingCarts) {
+}
@@ -0,0 +1,109 @@
+package com.algaworks.algashop.ordering.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// as chaves da transação vão num único pg_notify antes do commit: o Postgres só entrega se ela for confirmada
+@Component
+public class CacheInvalidationBus {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String PRODUCTS = "products";
+
+    private static final String SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                @Value("${algashop.cache-invalidation.enabled:true}") boolean enabled,
+                                @Value("${algashop.cache-invalidation.channel:algashop_cache_invalidation}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public void publish(String region, Object key) {
+        publish(region, List.of(key));
+    }
+
+    public void publish(String region, Collection<?> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        List<String> payloads = keys.stream()
+                .map(key -> nodeId + SEPARATOR + region + SEPARATOR + key)
+                .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInCurrentTransaction().addAll(payloads);
+        } else {
+            notify(payloads);
+        }
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    // pg_notify recebe o nome exato; sem aspas o LISTEN passaria o nome para minúsculas e não casaria
+    String listenStatement() {
+        return "LISTEN \"" + channel.replace("\"", "\"\"") + "\"";
+    }
+
+    // notificações desta instância ficam de fora: os caches locais já foram invalidados por quem gravou
+    Optional<CacheInvalidationEvent> parse(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new CacheInvalidationEvent(parts[1], parts[2]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> pendingInCurrentTransaction() {
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<String> payloads = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, payloads);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                notify(payloads);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+            }
+        });
+        return payloads;
+    }
+
+    private void notify(Collection<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute("SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload",
+                (PreparedStatementCallback<Boolean>) statement -> {
+                    statement.setString(1, channel);
+                    statement.setArray(2, statement.getConnection().createArrayOf("text", payloads.toArray()));
+                    return statement.execute();
+                });
+    }
+}
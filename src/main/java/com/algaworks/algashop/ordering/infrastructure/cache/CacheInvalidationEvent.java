@@ -0,0 +1,19 @@
+package com.algaworks.algashop.ordering.infrastructure.cache;
+
+import java.util.Objects;
+
+// sem região e chave significa "descarte tudo"
+public record CacheInvalidationEvent(String region, String key) {
+
+    public static CacheInvalidationEvent all() {
+        return new CacheInvalidationEvent(null, null);
+    }
+
+    public boolean appliesTo(String region) {
+        return this.region == null || Objects.equals(this.region, region);
+    }
+
+    public boolean isAll() {
+        return key == null;
+    }
+}
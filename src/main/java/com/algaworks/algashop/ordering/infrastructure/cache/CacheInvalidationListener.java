@@ -0,0 +1,202 @@
+package com.algaworks.algashop.ordering.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+// conexão dedicada, fora do pool. A cada LISTEN (re)estabelecido os caches são descartados por inteiro,
+// porque o que foi notificado enquanto a conexão estava fora se perdeu
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algashop.cache-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    static final String APPLICATION_NAME = "algashop-cache-invalidation";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration pollInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter receivedCounter;
+    private final Counter reconnectsCounter;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    public CacheInvalidationListener(DataSourceProperties dataSourceProperties,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${algashop.cache-invalidation.poll-interval:10s}") Duration pollInterval,
+                                     @Value("${algashop.cache-invalidation.initial-backoff:1s}") Duration initialBackoff,
+                                     @Value("${algashop.cache-invalidation.max-backoff:30s}") Duration maxBackoff) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.eventPublisher = eventPublisher;
+        this.pollInterval = pollInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.receivedCounter = meterRegistry.counter("cache.invalidation.received");
+        this.reconnectsCounter = meterRegistry.counter("cache.invalidation.reconnects");
+        Gauge.builder("cache.invalidation.connected", this, listener -> listener.connected ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .daemon()
+                .name("cache-invalidation-listener")
+                .start(this::listen);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        abortQuietly(connection);
+        listenerThread.interrupt();
+        try {
+            listenerThread.join(Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        Duration backoff = initialBackoff;
+        while (running) {
+            try (Connection listening = openConnection()) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute(cacheInvalidationBus.listenStatement());
+                }
+                connected = true;
+                backoff = initialBackoff;
+                log.info("Listening for cache invalidations on channel {}", cacheInvalidationBus.channel());
+
+                // só depois do LISTEN: o que mudar a partir daqui chega como notificação
+                publish(CacheInvalidationEvent.all());
+
+                receive(listening);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                reconnectsCounter.increment();
+                log.warn("Cache invalidation listener disconnected; reconnecting in {} ms", backoff.toMillis(), e);
+            } finally {
+                connected = false;
+                connection = null;
+            }
+
+            if (!sleep(backoff)) {
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void receive(Connection listening) throws SQLException {
+        PGConnection pgConnection = listening.unwrap(PGConnection.class);
+        int timeoutMillis = (int) Math.max(1, pollInterval.toMillis());
+        int validationTimeoutSeconds = (int) Math.max(1, pollInterval.toSeconds());
+
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (!listening.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Cache invalidation connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        cacheInvalidationBus.parse(payload).ifPresent(event -> {
+            receivedCounter.increment();
+            publish(event);
+        });
+    }
+
+    // uma falha num cache não derruba a conexão nem impede as demais invalidações
+    private void publish(CacheInvalidationEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply cache invalidation {}", event, e);
+        }
+    }
+
+    private boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // abort fecha o socket sem esperar a thread que está bloqueada em getNotifications
+    private static void abortQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.debug("Failed to abort cache invalidation connection", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.algaworks.algashop.ordering.infrastructure.http;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+import java.time.Duration;
+
+// com um prazo em curso, o timeout de resposta de cada requisição é o menor entre o configurado e o que resta dele
+class DeadlineAwareRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final RequestConfig defaultRequestConfig;
+    private final Duration readTimeout;
+
+    DeadlineAwareRequestFactory(HttpClient httpClient, RequestConfig defaultRequestConfig, Duration readTimeout) {
+        super(httpClient);
+        this.defaultRequestConfig = defaultRequestConfig;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return null;
+        }
+        long responseTimeoutMillis = Math.max(1, deadline.limit(readTimeout).toMillis());
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.copy(defaultRequestConfig)
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                .build());
+        return context;
+    }
+}
@@ -0,0 +1,38 @@
+package com.algaworks.algashop.ordering.infrastructure.http;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import com.algaworks.algashop.ordering.application.utility.DeadlineExceededException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+// falhas de I/O causadas pelo fim do prazo viram DeadlineExceededException, para não contarem como falha da integração
+class DeadlineRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return execution.execute(request, body);
+        }
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded before calling " + request.getURI().getHost());
+        }
+
+        request.getHeaders().set(REQUEST_TIMEOUT_HEADER, String.valueOf(Math.max(1, deadline.remaining().toMillis())));
+        try {
+            return execution.execute(request, body);
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException("Deadline exceeded while calling " + request.getURI().getHost(), e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.algaworks.algashop.ordering.infrastructure.http;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+// algashop.integrations.<integração>.http.*; os valores abaixo valem quando a propriedade não é informada
+@Data
+public class HttpClientSettings {
+    private Version version = Version.HTTP_1_1;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Duration poolWaitTimeout = Duration.ofSeconds(1);
+    private int maxConnections = 50;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    public enum Version {
+        HTTP_1_1,
+        HTTP_2
+    }
+}
@@ -0,0 +1,117 @@
+package com.algaworks.algashop.ordering.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// com HTTP/2 o HttpClient do JDK multiplexa as requisições: max-connections e pool-wait-timeout não se aplicam
+// e o read-timeout não é reduzido ao que resta do Deadline
+@Slf4j
+@Component
+public class OutboundHttpClients implements DisposableBean {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<AutoCloseable> clients = new CopyOnWriteArrayList<>();
+
+    public OutboundHttpClients(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ClientHttpRequestFactory requestFactory(String integration) {
+        HttpClientSettings settings = Binder.get(environment)
+                .bind("algashop.integrations." + integration + ".http", HttpClientSettings.class)
+                .orElseGet(HttpClientSettings::new);
+
+        ClientHttpRequestFactory requestFactory = switch (settings.getVersion()) {
+            case HTTP_1_1 -> pooledRequestFactory(integration, settings);
+            case HTTP_2 -> http2RequestFactory(settings);
+        };
+        return new InterceptingClientHttpRequestFactory(requestFactory, List.of(new DeadlineRequestInterceptor()));
+    }
+
+    private ClientHttpRequestFactory pooledRequestFactory(String integration, HttpClientSettings settings) {
+        Timer leaseWait = Timer.builder("http.client.pool.wait")
+                .tag("integration", integration)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        // cada integração fala com um único host, então o limite por rota é o próprio limite do pool
+        TimedPoolingConnectionManager connectionManager = new TimedPoolingConnectionManager(leaseWait);
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnections());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(timeout(settings.getConnectTimeout()))
+                .setSocketTimeout(timeout(settings.getReadTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(settings.getValidateAfterInactivity().toMillis()))
+                .setTimeToLive(TimeValue.ofMilliseconds(settings.getTimeToLive().toMillis()))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, integration)
+                .bindTo(meterRegistry);
+
+        // keep-alive vale quando o servidor não informa o seu; conexões ociosas além dele são fechadas em background
+        TimeValue keepAlive = TimeValue.ofMilliseconds(settings.getKeepAlive().toMillis());
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(timeout(settings.getPoolWaitTimeout()))
+                .setResponseTimeout(timeout(settings.getReadTimeout()))
+                .setConnectionKeepAlive(keepAlive)
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                .build();
+        clients.add(httpClient);
+
+        return new DeadlineAwareRequestFactory(httpClient, requestConfig, settings.getReadTimeout());
+    }
+
+    private ClientHttpRequestFactory http2RequestFactory(HttpClientSettings settings) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(settings.getConnectTimeout())
+                .build();
+        clients.add(httpClient);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(settings.getReadTimeout());
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() {
+        for (AutoCloseable client : clients) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                log.warn("Could not close outbound HTTP client", e);
+            }
+        }
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -8,6 +8,7 @@ import com.algaworks.algashop.ordering.domain.model.customer.CustomerRegisteredE
 import com.algaworks.algashop.ordering.domain.model.order.OrderReadyEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +21,10 @@ public class CustomerEventListener {
 
     private final CustomerLoyaltyPointsApplicationService customerLoyaltyPointsApplicationService;
 
+    // com o acúmulo em lote ligado, os pontos são creditados pelo LoyaltyPointsAccrualJob
+    @Value("${algashop.loyalty-points.accrual.batch.enabled:false}")
+    private boolean batchAccrualEnabled;
+
     @EventListener
     public void listen(CustomerRegisteredEvent event) {
         log.info("CustomerRegisteredEvent listen 1");
@@ -38,6 +43,9 @@ public class CustomerEventListener {
 
     @EventListener
     public void listen(OrderReadyEvent event) {
+        if (batchAccrualEnabled) {
+            return;
+        }
         customerLoyaltyPointsApplicationService
                 .addLoyaltyPoints(event.customerId().value(), event.orderId().toString());
     }
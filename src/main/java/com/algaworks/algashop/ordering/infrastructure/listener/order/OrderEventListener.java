@@ -4,12 +4,17 @@ import com.algaworks.algashop.ordering.domain.model.order.OrderCanceledEvent;
 import com.algaworks.algashop.ordering.domain.model.order.OrderPaidEvent;
 import com.algaworks.algashop.ordering.domain.model.order.OrderPlacedEvent;
 import com.algaworks.algashop.ordering.domain.model.order.OrderReadyEvent;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.CustomerSalesStatsRecorder;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class OrderEventListener {
 
+    private final CustomerSalesStatsRecorder customerSalesStatsRecorder;
+
     @EventListener
     public void listen(OrderPlacedEvent event) {
 
@@ -17,7 +22,7 @@ public class OrderEventListener {
 
     @EventListener
     public void listen(OrderPaidEvent event) {
-
+        customerSalesStatsRecorder.registerPaid(event.orderId());
     }
 
     @EventListener
@@ -27,7 +32,7 @@ public class OrderEventListener {
 
     @EventListener
     public void listen(OrderCanceledEvent event) {
-
+        customerSalesStatsRecorder.registerCanceled(event.orderId());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.algaworks.algashop.ordering.infrastructure.outbox;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+// com o outbox desligado os listeners rodam na hora, dentro da transação de quem gravou
+@Component
+public class DomainEventDispatcher {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<OutboxEventStore> outboxEventStore;
+    private final boolean outboxEnabled;
+
+    public DomainEventDispatcher(ApplicationEventPublisher eventPublisher,
+                                 ObjectProvider<OutboxEventStore> outboxEventStore,
+                                 @Value("${algashop.outbox.enabled:true}") boolean outboxEnabled) {
+        this.eventPublisher = eventPublisher;
+        this.outboxEventStore = outboxEventStore;
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    public void dispatch(Object event) {
+        dispatch(List.of(event));
+    }
+
+    public void dispatch(Collection<?> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+
+        if (outboxEnabled) {
+            outboxEventStore.getObject().append(List.copyOf(events));
+            return;
+        }
+
+        List.copyOf(events).forEach(eventPublisher::publishEvent);
+    }
+}
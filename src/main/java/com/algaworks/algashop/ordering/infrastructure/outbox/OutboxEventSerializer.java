@@ -0,0 +1,58 @@
+package com.algaworks.algashop.ordering.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.hypersistence.tsid.TSID;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// só aceita tipos do pacote de domínio, para que uma linha adulterada não instancie classes arbitrárias
+@Component
+public class OutboxEventSerializer {
+
+    private static final String DOMAIN_PACKAGE = "com.algaworks.algashop.ordering.domain.model.";
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventSerializer(ObjectMapper objectMapper) {
+        SimpleModule tsidModule = new SimpleModule("outbox-tsid");
+        tsidModule.addSerializer(TSID.class, ToStringSerializer.instance);
+        tsidModule.addDeserializer(TSID.class, new JsonDeserializer<>() {
+            @Override
+            public TSID deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return TSID.from(parser.getValueAsString());
+            }
+        });
+        this.objectMapper = objectMapper.copy().registerModule(tsidModule);
+    }
+
+    public String eventType(Object event) {
+        return event.getClass().getName();
+    }
+
+    public String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize event " + eventType(event), e);
+        }
+    }
+
+    public Object deserialize(String eventType, String payload) {
+        if (eventType == null || !eventType.startsWith(DOMAIN_PACKAGE)) {
+            throw new IllegalArgumentException("Unsupported outbox event type " + eventType);
+        }
+        try {
+            Class<?> type = Class.forName(eventType, false, getClass().getClassLoader());
+            return objectMapper.readValue(payload, type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not deserialize outbox event " + eventType, e);
+        }
+    }
+}
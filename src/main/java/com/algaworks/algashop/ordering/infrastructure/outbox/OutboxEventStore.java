@@ -0,0 +1,35 @@
+package com.algaworks.algashop.ordering.infrastructure.outbox;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+// grava os eventos na mesma transação que alterou o agregado; sem transação ativa o evento se perderia
+@Component
+@RequiredArgsConstructor
+public class OutboxEventStore {
+
+    private final OutboxMessagePersistenceEntityRepository repository;
+    private final OutboxEventSerializer serializer;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<?> events) {
+        OffsetDateTime now = OffsetDateTime.now();
+        repository.saveAll(events.stream()
+                .map(event -> OutboxMessagePersistenceEntity.builder()
+                        .eventType(serializer.eventType(event))
+                        .payload(serializer.serialize(event))
+                        .occurredAt(now)
+                        .status(OutboxMessagePersistenceEntity.STATUS_PENDING)
+                        .attempts(0)
+                        .availableAt(now)
+                        .build())
+                .toList());
+    }
+}
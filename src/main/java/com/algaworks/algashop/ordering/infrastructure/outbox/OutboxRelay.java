@@ -0,0 +1,195 @@
+package com.algaworks.algashop.ordering.infrastructure.outbox;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// lote reservado com SKIP LOCKED e um lease (available_at no futuro); cada mensagem é travada de novo na entrega,
+// para que só uma instância a entregue se o lease expirar. A entrega é at-least-once
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algashop.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessagePersistenceEntityRepository repository;
+    private final OutboxEventSerializer serializer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final AtomicLong pendingMessages = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter dispatchedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryDelay;
+
+    public OutboxRelay(OutboxMessagePersistenceEntityRepository repository,
+                       OutboxEventSerializer serializer,
+                       ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${algashop.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${algashop.outbox.relay.lease:30s}") Duration lease,
+                       @Value("${algashop.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${algashop.outbox.relay.initial-backoff:1s}") Duration initialBackoff,
+                       @Value("${algashop.outbox.relay.max-backoff:5m}") Duration maxBackoff,
+                       @Value("${algashop.outbox.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.serializer = serializer;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = lease;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        Gauge.builder("outbox.messages.pending", pendingMessages, AtomicLong::get)
+                .description("Outbox messages waiting to be dispatched")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest pending outbox message")
+                .register(meterRegistry);
+        this.dispatchedCounter = meterRegistry.counter("outbox.messages", "outcome", "dispatched");
+        this.retriedCounter = meterRegistry.counter("outbox.messages", "outcome", "retried");
+        this.failedCounter = meterRegistry.counter("outbox.messages", "outcome", "failed");
+        this.deliveryDelay = Timer.builder("outbox.delivery.delay")
+                .description("Time between an event being stored and its listeners completing")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${algashop.outbox.relay.interval:500ms}")
+    public void relay() {
+        relayPending();
+    }
+
+    public int relayPending() {
+        int dispatched = 0;
+        List<Long> claimed;
+        do {
+            claimed = claimBatch();
+            for (Long messageId : claimed) {
+                if (dispatch(messageId)) {
+                    dispatched++;
+                }
+            }
+        } while (claimed.size() == batchSize);
+
+        refreshBacklogMetrics();
+        return dispatched;
+    }
+
+    @Scheduled(fixedDelayString = "${algashop.outbox.purge-interval:1h}")
+    public void purgeProcessed() {
+        Integer purged = transactionTemplate.execute(
+                status -> repository.deleteProcessedBefore(OffsetDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} processed outbox messages", purged);
+        }
+    }
+
+    private List<Long> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<OutboxMessagePersistenceEntity> messages = repository.lockDispatchable(now, batchSize);
+            messages.forEach(message -> message.setAvailableAt(now.plus(lease)));
+            return messages.stream().map(OutboxMessagePersistenceEntity::getId).toList();
+        });
+    }
+
+    private boolean dispatch(Long messageId) {
+        Duration delay;
+        try {
+            delay = transactionTemplate.execute(status -> {
+                OutboxMessagePersistenceEntity message = repository.lockPending(messageId).orElse(null);
+                if (message == null) {
+                    return null;
+                }
+
+                eventPublisher.publishEvent(serializer.deserialize(message.getEventType(), message.getPayload()));
+
+                OffsetDateTime now = OffsetDateTime.now();
+                message.setStatus(OutboxMessagePersistenceEntity.STATUS_PROCESSED);
+                message.setProcessedAt(now);
+                message.setAttempts(message.getAttempts() + 1);
+                return Duration.between(message.getOccurredAt(), now);
+            });
+        } catch (RuntimeException e) {
+            registerFailure(messageId, e);
+            return false;
+        }
+
+        if (delay == null) {
+            return false;
+        }
+
+        dispatchedCounter.increment();
+        deliveryDelay.record(delay);
+        return true;
+    }
+
+    private void registerFailure(Long messageId, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status -> repository.findById(messageId).ifPresent(message -> {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(errorMessage(cause));
+
+            if (attempts >= maxAttempts) {
+                message.setStatus(OutboxMessagePersistenceEntity.STATUS_FAILED);
+                failedCounter.increment();
+                log.error("Outbox message {} ({}) failed after {} attempts",
+                        messageId, message.getEventType(), attempts, cause);
+                return;
+            }
+
+            message.setAvailableAt(OffsetDateTime.now().plus(backoff(attempts)));
+            retriedCounter.increment();
+            log.warn("Outbox message {} ({}) failed on attempt {}, retrying later",
+                    messageId, message.getEventType(), attempts, cause);
+        }));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void refreshBacklogMetrics() {
+        pendingMessages.set(repository.countByStatus(OutboxMessagePersistenceEntity.STATUS_PENDING));
+        lagMillis.set(repository.oldestPendingOccurredAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, OffsetDateTime.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    private static String errorMessage(Throwable cause) {
+        String message = cause.getClass().getName() + ": " + cause.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,38 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+// acessa o campo privado "version" dos agregados; o VarHandle é resolvido uma única vez por classe
+public final class AggregateVersionAccessor {
+
+    private static final ClassValue<VarHandle> VERSION_HANDLES = new ClassValue<>() {
+        @Override
+        protected VarHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                        .findVarHandle(type, "version", Long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Aggregate " + type.getName() + " has no version field", e);
+            }
+        }
+    };
+
+    private AggregateVersionAccessor() {
+    }
+
+    public static void updateVersion(Object aggregateRoot, Long version) {
+        VERSION_HANDLES.get(aggregateRoot.getClass()).set(aggregateRoot, version);
+    }
+
+    // agregados sem versão (ainda não carregados do banco) não participam da verificação
+    public static void checkVersion(Long aggregateVersion, Long persistedVersion,
+                                    Class<?> persistentClass, Object identifier) {
+        if (aggregateVersion != null && !Objects.equals(aggregateVersion, persistedVersion)) {
+            throw new ObjectOptimisticLockingFailureException(persistentClass, identifier);
+        }
+    }
+}
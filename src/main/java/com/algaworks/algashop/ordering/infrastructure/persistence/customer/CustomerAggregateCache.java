@@ -0,0 +1,143 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerArchivedEvent;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerRegisteredEvent;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+// cada acerto devolve uma cópia nova do agregado. Numa transação que já gravou o cliente as leituras não passam
+// pelo cache, para que um estado ainda não confirmado não seja compartilhado
+@Component
+public class CustomerAggregateCache {
+
+    private final Cache<CustomerId, Customer> entries;
+    private final boolean enabled;
+
+    public CustomerAggregateCache(ObjectProvider<MeterRegistry> meterRegistry,
+                                  @Value("${algashop.customers.cache.enabled:true}") boolean enabled,
+                                  @Value("${algashop.customers.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${algashop.customers.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, entries, "customers"));
+    }
+
+    // a carga roda dentro do compute do Caffeine: um evict concorrente espera por ela e não é perdido
+    public Optional<Customer> get(CustomerId customerId, Function<CustomerId, Optional<Customer>> loader) {
+        if (!enabled || writtenInCurrentTransaction().contains(customerId)) {
+            return loader.apply(customerId);
+        }
+        Customer cached = entries.get(customerId, id -> loader.apply(id).orElse(null));
+        return Optional.ofNullable(cached).map(CustomerAggregateCache::copyOf);
+    }
+
+    public void verify(CustomerId customerId, Long storedVersion) {
+        entries.asMap().computeIfPresent(customerId,
+                (id, cached) -> Objects.equals(cached.version(), storedVersion) ? cached : null);
+    }
+
+    public void evict(CustomerId customerId) {
+        evictAll(Set.of(customerId));
+    }
+
+    public void evictAll(Collection<CustomerId> customerIds) {
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        entries.invalidateAll(customerIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            bindWrittenInCurrentTransaction().addAll(customerIds);
+        }
+    }
+
+    @EventListener
+    public void listen(CustomerRegisteredEvent event) {
+        evict(event.customerId());
+    }
+
+    @EventListener
+    public void listen(CustomerArchivedEvent event) {
+        evict(event.customerId());
+    }
+
+    // gravações feitas em outras instâncias
+    @EventListener
+    public void listen(CacheInvalidationEvent event) {
+        if (!event.appliesTo(CacheInvalidationBus.CUSTOMERS)) {
+            return;
+        }
+        if (event.isAll()) {
+            entries.invalidateAll();
+        } else {
+            entries.invalidate(new CustomerId(UUID.fromString(event.key())));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<CustomerId> writtenInCurrentTransaction() {
+        Object written = TransactionSynchronizationManager.getResource(this);
+        return written == null ? Set.of() : (Set<CustomerId>) written;
+    }
+
+    // leituras entre a gravação e o commit podem ter recolocado o cliente; o evict final descarta esse estado
+    @SuppressWarnings("unchecked")
+    private Set<CustomerId> bindWrittenInCurrentTransaction() {
+        Set<CustomerId> written = (Set<CustomerId>) TransactionSynchronizationManager.getResource(this);
+        if (written != null) {
+            return written;
+        }
+        Set<CustomerId> customerIds = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, customerIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CustomerAggregateCache.this);
+                entries.invalidateAll(customerIds);
+            }
+        });
+        return customerIds;
+    }
+
+    private static Customer copyOf(Customer customer) {
+        return Customer.existing()
+                .id(customer.id())
+                .version(customer.version())
+                .fullName(customer.fullName())
+                .birthDate(customer.birthDate())
+                .email(customer.email())
+                .phone(customer.phone())
+                .document(customer.document())
+                .loyaltyPoints(customer.loyaltyPoints())
+                .promotionNotificationsAllowed(customer.isPromotionNotificationsAllowed())
+                .archived(customer.isArchived())
+                .registeredAt(customer.registeredAt())
+                .archivedAt(customer.archivedAt())
+                .address(customer.address())
+                .build();
+    }
+}
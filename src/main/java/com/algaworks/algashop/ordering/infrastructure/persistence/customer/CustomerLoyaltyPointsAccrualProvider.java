@@ -0,0 +1,51 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.customer.*;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerLoyaltyPointsAccrualProvider implements CustomerLoyaltyPointsAccrualService {
+
+    private final CustomerPersistenceEntityRepository persistenceRepository;
+    private final AuditorAware<UUID> auditorProvider;
+    private final CustomerAggregateCache customerCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    @Transactional
+    public boolean credit(CustomerId customerId, OrderId orderId, LoyaltyPoints points) {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        int registered = persistenceRepository.registerLoyaltyPointsCredit(orderId.value().toLong(),
+                customerId.value(), points.value(), now);
+        if (registered == 0) {
+            return false;
+        }
+
+        if (points.equals(LoyaltyPoints.ZERO)) {
+            return true;
+        }
+
+        customerCache.evict(customerId);
+        cacheInvalidationBus.publish(CacheInvalidationBus.CUSTOMERS, customerId.value());
+        int updated = persistenceRepository.incrementLoyaltyPoints(customerId.value(), points.value(), now,
+                auditorProvider.getCurrentAuditor().orElse(null));
+        if (updated == 0) {
+            if (!persistenceRepository.existsById(customerId.value())) {
+                throw new CustomerNotFoundException(customerId);
+            }
+            throw new CustomerArchivedException();
+        }
+
+        return true;
+    }
+}
@@ -6,15 +6,15 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.domain.AbstractAggregateRoot;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.Collection;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @ToString(of = "id")
@@ -24,8 +24,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-public class CustomerPersistenceEntity
-        extends AbstractAggregateRoot<CustomerPersistenceEntity> {
+public class CustomerPersistenceEntity {
 
     @Id
     @EqualsAndHashCode.Include
@@ -66,16 +65,4 @@ public class CustomerPersistenceEntity
 
     @LastModifiedBy
     private UUID lastModifiedByUserId;
-
-    public Collection<Object> getEvents() {
-        return super.domainEvents();
-    }
-
-    public void addEvents(Collection<Object> events) {
-        if (events != null) {
-            for (Object event : events) {
-                this.registerEvent(event);
-            }
-        }
-    }
 }
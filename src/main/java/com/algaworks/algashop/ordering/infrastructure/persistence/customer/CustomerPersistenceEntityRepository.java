@@ -1,7 +1,11 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +14,36 @@ public interface CustomerPersistenceEntityRepository
 
     Optional<CustomerPersistenceEntity> findByEmail(String value);
     boolean existsByEmailAndIdNot(String email, UUID customerId);
-}
\ No newline at end of file
+
+    // a chave primária por pedido torna o crédito idempotente: um replay não insere nada
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO customer_loyalty_points_credit (order_id, customer_id, points, credited_at)
+            VALUES (:orderId, :customerId, :points, :creditedAt)
+            ON CONFLICT (order_id) DO NOTHING
+    """, nativeQuery = true)
+    int registerLoyaltyPointsCredit(
+            @Param("orderId") Long orderId,
+            @Param("customerId") UUID customerId,
+            @Param("points") Integer points,
+            @Param("creditedAt") OffsetDateTime creditedAt
+    );
+
+    // incremento no banco; a versão sobe para que um agregado carregado antes não sobrescreva o saldo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE CustomerPersistenceEntity c SET
+                c.loyaltyPoints = COALESCE(c.loyaltyPoints, 0) + :points,
+                c.version = c.version + 1,
+                c.lastModifiedAt = :changedAt,
+                c.lastModifiedByUserId = :userId
+            WHERE c.id = :customerId
+            AND (c.archived IS NULL OR c.archived = false)
+    """)
+    int incrementLoyaltyPoints(
+            @Param("customerId") UUID customerId,
+            @Param("points") Integer points,
+            @Param("changedAt") OffsetDateTime changedAt,
+            @Param("userId") UUID userId
+    );
+}
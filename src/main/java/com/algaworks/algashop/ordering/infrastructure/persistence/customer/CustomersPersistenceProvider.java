@@ -4,14 +4,13 @@ import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.commons.Email;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
-import jakarta.persistence.EntityManager;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateVersionAccessor;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
-import java.lang.reflect.Field;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,13 +22,14 @@ public class CustomersPersistenceProvider implements Customers {
     private final CustomerPersistenceEntityRepository persistenceRepository;
     private final CustomerPersistenceEntityAssembler assembler;
     private final CustomerPersistenceEntityDisassembler disassembler;
-
-    private final EntityManager entityManager;
+    private final DomainEventDispatcher domainEventDispatcher;
+    private final CustomerAggregateCache customerCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public Optional<Customer> ofId(CustomerId customerId) {
-        return persistenceRepository.findById(customerId.value())
-                .map(disassembler::toDomainEntity);
+        return customerCache.get(customerId, id -> persistenceRepository.findById(id.value())
+                .map(disassembler::toDomainEntity));
     }
 
     @Override
@@ -41,6 +41,8 @@ public class CustomersPersistenceProvider implements Customers {
     @Transactional(readOnly = false)
     public void add(Customer aggregateRoot) {
         UUID customerId = aggregateRoot.id().value();
+        customerCache.evict(aggregateRoot.id());
+        cacheInvalidationBus.publish(CacheInvalidationBus.CUSTOMERS, customerId);
 
         persistenceRepository.findById(customerId)
                 .ifPresentOrElse(
@@ -48,28 +50,22 @@ public class CustomersPersistenceProvider implements Customers {
                         ()-> insert(aggregateRoot)
                 );
 
+        domainEventDispatcher.dispatch(aggregateRoot.domainEvents());
         aggregateRoot.clearDomainEvents();
     }
 
     private void update(Customer aggregateRoot, CustomerPersistenceEntity persistenceEntity) {
+        AggregateVersionAccessor.checkVersion(aggregateRoot.version(), persistenceEntity.getVersion(),
+                CustomerPersistenceEntity.class, persistenceEntity.getId());
         persistenceEntity = assembler.merge(persistenceEntity, aggregateRoot);
-        entityManager.detach(persistenceEntity);
         persistenceEntity = persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
     private void insert(Customer aggregateRoot) {
         CustomerPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
         persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
-    }
-
-    @SneakyThrows
-    private void updateVersion(Customer aggregateRoot, CustomerPersistenceEntity persistenceEntity) {
-        Field version = aggregateRoot.getClass().getDeclaredField("version");
-        version.setAccessible(true);
-        ReflectionUtils.setField(version, aggregateRoot, persistenceEntity.getVersion());
-        version.setAccessible(false);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
     @Override
@@ -80,7 +76,10 @@ public class CustomersPersistenceProvider implements Customers {
     @Override
     public Optional<Customer> ofEmail(Email email) {
         return persistenceRepository.findByEmail(email.value())
-                .map(disassembler::toDomainEntity);
+                .map(entity -> {
+                    customerCache.verify(new CustomerId(entity.getId()), entity.getVersion());
+                    return disassembler.toDomainEntity(entity);
+                });
     }
 
     @Override
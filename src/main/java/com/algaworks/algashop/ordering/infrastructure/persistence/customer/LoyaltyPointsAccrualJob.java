@@ -0,0 +1,232 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerLoyaltyPointsService;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// a marca d'água só limita a varredura: a busca começa lookback antes dela e o NOT EXISTS decide o que falta creditar.
+// a linha da marca é travada com SKIP LOCKED, então só uma instância processa por vez
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algashop.loyalty-points.accrual.batch.enabled", havingValue = "true")
+public class LoyaltyPointsAccrualJob {
+
+    static final String WATERMARK_NAME = "loyalty-points-accrual";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerLoyaltyPointsService customerLoyaltyPointsService;
+    private final CustomerAggregateCache customerCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final int batchSize;
+    private final Duration settleTime;
+    private final Duration lookback;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter creditedOrders;
+    private final Counter duplicatedOrders;
+    private final Counter skippedOrders;
+    private final Counter updatedCustomers;
+    private final Timer batchTimer;
+
+    public LoyaltyPointsAccrualJob(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   CustomerLoyaltyPointsService customerLoyaltyPointsService,
+                                   CustomerAggregateCache customerCache,
+                                   CacheInvalidationBus cacheInvalidationBus,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${algashop.loyalty-points.accrual.batch.size:1000}") int batchSize,
+                                   @Value("${algashop.loyalty-points.accrual.batch.settle-time:1m}") Duration settleTime,
+                                   @Value("${algashop.loyalty-points.accrual.batch.lookback:1h}") Duration lookback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.customerLoyaltyPointsService = customerLoyaltyPointsService;
+        this.customerCache = customerCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.batchSize = Math.max(1, batchSize);
+        this.settleTime = settleTime;
+        this.lookback = lookback;
+
+        TimeGauge.builder("loyalty.accrual.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Distance between now and the accrual watermark")
+                .register(meterRegistry);
+        this.creditedOrders = meterRegistry.counter("loyalty.accrual.orders", "outcome", "credited");
+        this.duplicatedOrders = meterRegistry.counter("loyalty.accrual.orders", "outcome", "duplicated");
+        this.skippedOrders = meterRegistry.counter("loyalty.accrual.orders", "outcome", "skipped");
+        this.updatedCustomers = meterRegistry.counter("loyalty.accrual.customers.updated");
+        this.batchTimer = Timer.builder("loyalty.accrual.batch")
+                .description("Time spent processing one accrual batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${algashop.loyalty-points.accrual.batch.interval:30s}")
+    public void run() {
+        int processed;
+        do {
+            processed = accrueNextBatch();
+        } while (processed == batchSize);
+    }
+
+    public int accrueNextBatch() {
+        Integer processed = batchTimer.record(() -> transactionTemplate.execute(status -> processBatch()));
+        return processed == null ? 0 : processed;
+    }
+
+    private int processBatch() {
+        List<Watermark> watermarks = jdbcTemplate.query("""
+                SELECT last_processed_at, last_processed_id, floor_at FROM job_watermark
+                WHERE name = ?
+                FOR UPDATE SKIP LOCKED
+                """, (rs, rowNum) -> new Watermark(
+                        rs.getObject("last_processed_at", OffsetDateTime.class),
+                        rs.getLong("last_processed_id"),
+                        rs.getObject("floor_at", OffsetDateTime.class)),
+                WATERMARK_NAME);
+        if (watermarks.isEmpty()) {
+            return 0;
+        }
+        Watermark watermark = watermarks.getFirst();
+
+        // o que decide é o NOT EXISTS; settle-time só evita disputar com transações que acabaram de marcar READY
+        OffsetDateTime until = OffsetDateTime.now().minus(settleTime);
+        // abaixo do piso os pedidos foram creditados pelo listener antigo, sem linha de crédito
+        OffsetDateTime since = watermark.lastProcessedAt().minus(lookback);
+        if (since.isBefore(watermark.floorAt())) {
+            since = watermark.floorAt();
+        }
+        List<ReadyOrder> readyOrders = jdbcTemplate.query("""
+                SELECT o.id, o.customer_id, o.total_amount, o.ready_at FROM "order" o
+                WHERE o.status = 'READY'
+                AND o.ready_at IS NOT NULL
+                AND o.ready_at <= ?
+                AND o.ready_at > ?
+                AND NOT EXISTS (SELECT 1 FROM customer_loyalty_points_credit c WHERE c.order_id = o.id)
+                ORDER BY o.ready_at, o.id
+                LIMIT ?
+                """, (rs, rowNum) -> new ReadyOrder(
+                        rs.getLong("id"),
+                        rs.getObject("customer_id", UUID.class),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getObject("ready_at", OffsetDateTime.class)),
+                until, since, batchSize);
+
+        if (readyOrders.isEmpty()) {
+            lagMillis.set(Math.max(0, Duration.between(watermark.lastProcessedAt(), OffsetDateTime.now()).toMillis()));
+            return 0;
+        }
+
+        Set<UUID> archivedCustomers = findArchivedCustomers(readyOrders);
+        Map<UUID, Integer> pointsByCustomer = registerCredits(readyOrders, archivedCustomers);
+        incrementBalances(pointsByCustomer);
+
+        // a marca só avança: um pedido atrasado, abaixo dela, não a puxa de volta
+        ReadyOrder last = readyOrders.getLast();
+        Watermark advanced = last.readyAt().isAfter(watermark.lastProcessedAt())
+                ? new Watermark(last.readyAt(), last.id(), watermark.floorAt())
+                : watermark;
+        jdbcTemplate.update("""
+                UPDATE job_watermark SET last_processed_at = ?, last_processed_id = ?, updated_at = ?
+                WHERE name = ?
+                """, advanced.lastProcessedAt(), advanced.lastProcessedId(), OffsetDateTime.now(), WATERMARK_NAME);
+        lagMillis.set(Math.max(0, Duration.between(advanced.lastProcessedAt(), OffsetDateTime.now()).toMillis()));
+
+        log.debug("Loyalty points accrual processed {} orders for {} customers", readyOrders.size(),
+                pointsByCustomer.size());
+        return readyOrders.size();
+    }
+
+    private Set<UUID> findArchivedCustomers(List<ReadyOrder> readyOrders) {
+        List<UUID> customerIds = readyOrders.stream().map(ReadyOrder::customerId).distinct().toList();
+        String placeholders = String.join(", ", Collections.nCopies(customerIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM customer WHERE archived = true AND id IN (" + placeholders + ")",
+                UUID.class, customerIds.toArray()));
+    }
+
+    // um INSERT por pedido em um único batch JDBC; só os pedidos ainda não creditados entram na soma
+    private Map<UUID, Integer> registerCredits(List<ReadyOrder> orders, Set<UUID> archivedCustomers) {
+        OffsetDateTime creditedAt = OffsetDateTime.now();
+        List<Integer> points = new ArrayList<>(orders.size());
+        List<Object[]> arguments = new ArrayList<>(orders.size());
+        for (ReadyOrder order : orders) {
+            int orderPoints = 0;
+            if (archivedCustomers.contains(order.customerId())) {
+                skippedOrders.increment();
+            } else {
+                Money totalAmount = order.totalAmount() == null ? Money.ZERO : new Money(order.totalAmount());
+                orderPoints = customerLoyaltyPointsService.calculatePoints(totalAmount).value();
+            }
+            points.add(orderPoints);
+            arguments.add(new Object[]{order.id(), order.customerId(), orderPoints, creditedAt});
+        }
+
+        int[] inserted = jdbcTemplate.batchUpdate("""
+                INSERT INTO customer_loyalty_points_credit (order_id, customer_id, points, credited_at)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (order_id) DO NOTHING
+                """, arguments);
+
+        Map<UUID, Integer> pointsByCustomer = new LinkedHashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            if (inserted[i] == 0) {
+                duplicatedOrders.increment();
+                continue;
+            }
+            if (archivedCustomers.contains(orders.get(i).customerId())) {
+                continue;
+            }
+            creditedOrders.increment();
+            if (points.get(i) > 0) {
+                pointsByCustomer.merge(orders.get(i).customerId(), points.get(i), Integer::sum);
+            }
+        }
+        return pointsByCustomer;
+    }
+
+    private void incrementBalances(Map<UUID, Integer> pointsByCustomer) {
+        if (pointsByCustomer.isEmpty()) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.batchUpdate("""
+                UPDATE customer SET
+                    loyalty_points = COALESCE(loyalty_points, 0) + ?,
+                    version = version + 1,
+                    last_modified_at = ?
+                WHERE id = ?
+                AND (archived IS NULL OR archived = false)
+                """, pointsByCustomer.entrySet().stream()
+                        .map(entry -> new Object[]{entry.getValue(), now, entry.getKey()})
+                        .toList());
+        customerCache.evictAll(pointsByCustomer.keySet().stream().map(CustomerId::new).toList());
+        cacheInvalidationBus.publish(CacheInvalidationBus.CUSTOMERS, pointsByCustomer.keySet());
+        updatedCustomers.increment(pointsByCustomer.size());
+    }
+
+    private record Watermark(OffsetDateTime lastProcessedAt, long lastProcessedId, OffsetDateTime floorAt) {
+    }
+
+    private record ReadyOrder(long id, UUID customerId, BigDecimal totalAmount, OffsetDateTime readyAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(of = "id")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "customer_sales_stats")
+public class CustomerSalesStatsPersistenceEntity {
+
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private CustomerSalesStatsId id;
+
+    private Long paidCount;
+    private BigDecimal paidAmount;
+}
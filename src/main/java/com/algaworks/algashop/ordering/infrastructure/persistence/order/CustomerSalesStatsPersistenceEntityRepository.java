@@ -0,0 +1,62 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface CustomerSalesStatsPersistenceEntityRepository
+        extends JpaRepository<CustomerSalesStatsPersistenceEntity, CustomerSalesStatsId> {
+
+    // a chave (pedido, tipo) torna o registro idempotente: uma reentrega do evento não insere nada
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_sales_stats_entry (order_id, kind, recorded_at)
+            VALUES (:orderId, :kind, :recordedAt)
+            ON CONFLICT (order_id, kind) DO NOTHING
+    """, nativeQuery = true)
+    int registerEntry(
+            @Param("orderId") Long orderId,
+            @Param("kind") String kind,
+            @Param("recordedAt") OffsetDateTime recordedAt
+    );
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_sales_stats (customer_id, year, paid_count, paid_amount)
+            VALUES (:customerId, :year, :paidCount, :paidAmount)
+            ON CONFLICT (customer_id, year) DO UPDATE SET
+                paid_count = customer_sales_stats.paid_count + EXCLUDED.paid_count,
+                paid_amount = customer_sales_stats.paid_amount + EXCLUDED.paid_amount
+    """, nativeQuery = true)
+    void increment(
+            @Param("customerId") UUID customerId,
+            @Param("year") Integer year,
+            @Param("paidCount") long paidCount,
+            @Param("paidAmount") BigDecimal paidAmount
+    );
+
+    @Query("""
+            SELECT COALESCE(SUM(s.paidCount), 0)
+            FROM CustomerSalesStatsPersistenceEntity s
+            WHERE s.id.customerId = :customerId
+            AND s.id.year = :year
+    """)
+    long paidCountByCustomerInYear(
+            @Param("customerId") UUID customerId,
+            @Param("year") Integer year
+    );
+
+    @Query("""
+            SELECT COALESCE(SUM(s.paidAmount), 0)
+            FROM CustomerSalesStatsPersistenceEntity s
+            WHERE s.id.customerId = :customerId
+    """)
+    BigDecimal paidAmountByCustomer(
+            @Param("customerId") UUID customerId
+    );
+}
@@ -0,0 +1,58 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+// o outbox entrega at-least-once: customer_sales_stats_entry garante uma contagem por pedido e tipo de evento
+@Component
+@RequiredArgsConstructor
+public class CustomerSalesStatsRecorder {
+
+    static final String PAID = "PAID";
+    static final String CANCELED = "CANCELED";
+
+    private final OrderPersistenceEntityRepository orderRepository;
+    private final CustomerSalesStatsPersistenceEntityRepository statsRepository;
+
+    @Transactional
+    public void registerPaid(OrderId orderId) {
+        Long id = orderId.value().toLong();
+        orderRepository.findSalesSnapshotById(id)
+                .filter(snapshot -> snapshot.placedAt() != null && snapshot.paidAt() != null)
+                .filter(snapshot -> firstEntry(id, PAID))
+                .ifPresent(snapshot -> statsRepository.increment(
+                        snapshot.customerId(),
+                        yearOf(snapshot),
+                        1L,
+                        snapshot.totalAmount()
+                ));
+    }
+
+    @Transactional
+    public void registerCanceled(OrderId orderId) {
+        Long id = orderId.value().toLong();
+        // somente pedidos que chegaram a ser pagos foram contabilizados
+        orderRepository.findSalesSnapshotById(id)
+                .filter(snapshot -> snapshot.placedAt() != null && snapshot.paidAt() != null)
+                .filter(snapshot -> firstEntry(id, CANCELED))
+                .ifPresent(snapshot -> statsRepository.increment(
+                        snapshot.customerId(),
+                        yearOf(snapshot),
+                        -1L,
+                        snapshot.totalAmount().negate()
+                ));
+    }
+
+    private boolean firstEntry(Long orderId, String kind) {
+        return statsRepository.registerEntry(orderId, kind, OffsetDateTime.now()) == 1;
+    }
+
+    private Integer yearOf(OrderSalesSnapshot snapshot) {
+        return snapshot.placedAt().withOffsetSameInstant(ZoneOffset.UTC).getYear();
+    }
+}
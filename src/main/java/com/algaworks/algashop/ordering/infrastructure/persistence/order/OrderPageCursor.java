@@ -0,0 +1,92 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.presentation.UnprocessableEntityException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+// cursor opaco do keyset: ordenação, valor da chave na última linha e o id como desempate
+record OrderPageCursor(OrderFilter.SortType sortType, Sort.Direction direction, String value, long id) {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String PRESENT_VALUE = "V";
+
+    OrderPageCursor {
+        Objects.requireNonNull(sortType);
+        Objects.requireNonNull(direction);
+    }
+
+    static OrderPageCursor after(OrderFilter.SortType sortType, Sort.Direction direction, OrderSummaryOutput output) {
+        Object sortValue = switch (sortType) {
+            case PLACED_AT -> output.getPlacedAt();
+            case PAID_AT -> output.getPaidAt();
+            case CANCELED_AT -> output.getCanceledAt();
+            case READY_AT -> output.getReadyAt();
+            case PAYMENT_METHOD -> output.getPaymentMethod();
+            case STATUS -> output.getStatus();
+        };
+        long id = new OrderId(output.getId()).value().toLong();
+        return new OrderPageCursor(sortType, direction, sortValue == null ? null : sortValue.toString(), id);
+    }
+
+    static OrderPageCursor decode(String token, OrderFilter.SortType sortType, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        OrderPageCursor cursor;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new IllegalArgumentException();
+            }
+            String value = parts[3].startsWith(PRESENT_VALUE) ? parts[3].substring(1) : null;
+            if (value == null && !parts[3].equals(NULL_VALUE)) {
+                throw new IllegalArgumentException();
+            }
+            cursor = new OrderPageCursor(
+                    OrderFilter.SortType.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]),
+                    value,
+                    Long.parseLong(parts[2])
+            );
+            if (cursor.isTimestampKey()) {
+                cursor.timestampValue();
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new UnprocessableEntityException("Invalid pagination cursor", e);
+        }
+
+        if (cursor.sortType() != sortType || cursor.direction() != direction) {
+            throw new UnprocessableEntityException("Pagination cursor does not match the requested sort");
+        }
+
+        return cursor;
+    }
+
+    String encode() {
+        String encodedValue = value == null ? NULL_VALUE : PRESENT_VALUE + value;
+        String raw = String.join(SEPARATOR, sortType.name(), direction.name(), Long.toString(id), encodedValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isTimestampKey() {
+        return switch (sortType) {
+            case PLACED_AT, PAID_AT, CANCELED_AT, READY_AT -> true;
+            case PAYMENT_METHOD, STATUS -> false;
+        };
+    }
+
+    OffsetDateTime timestampValue() {
+        return value == null ? null : OffsetDateTime.parse(value);
+    }
+}
@@ -6,17 +6,17 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.domain.AbstractAggregateRoot;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,8 +24,7 @@ import java.util.UUID;
 @Table(name = "\"order\"")
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
-public class OrderPersistenceEntity
-        extends AbstractAggregateRoot<OrderPersistenceEntity> {
+public class OrderPersistenceEntity {
 
     @Id
     @EqualsAndHashCode.Include
@@ -123,13 +122,18 @@ public class OrderPersistenceEntity
         this.replaceItems(items);
     }
 
+    // altera a coleção existente em vez de substituí-la, para o Hibernate comparar os itens com o snapshot carregado
     public void replaceItems(Set<OrderItemPersistenceEntity> items) {
-        if (items == null || items.isEmpty()) {
+        if (this.getItems() == null) {
             this.setItems(new HashSet<>());
+        }
+        if (items == null || items.isEmpty()) {
+            this.getItems().clear();
             return;
         }
         items.forEach(i -> i.setOrder(this));
-        this.setItems(items);
+        this.getItems().retainAll(items);
+        this.getItems().addAll(items);
     }
 
     public void addItem(OrderItemPersistenceEntity item) {
@@ -150,17 +154,5 @@ public class OrderPersistenceEntity
         return this.customer.getId();
     }
 
-    public Collection<Object> getEvents() {
-        return super.domainEvents();
-    }
-
-    public void addEvents(Collection<Object> events) {
-        if (events != null) {
-            for (Object event : events) {
-                this.registerEvent(event);
-            }
-        }
-    }
-
 
 }
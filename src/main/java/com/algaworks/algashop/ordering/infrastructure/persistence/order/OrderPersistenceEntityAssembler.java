@@ -52,7 +52,6 @@ public class OrderPersistenceEntityAssembler {
 
         orderPersistenceEntity.setCustomer(customerPersistenceEntity);
 
-        orderPersistenceEntity.addEvents(order.domainEvents());
 
         return orderPersistenceEntity;
     }
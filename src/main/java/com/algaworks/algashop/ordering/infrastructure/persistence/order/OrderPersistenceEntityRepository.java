@@ -2,10 +2,13 @@ package com.algaworks.algashop.ordering.infrastructure.persistence.order;
 
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,27 +27,96 @@ public interface OrderPersistenceEntityRepository extends JpaRepository<OrderPer
     );
 
     @Query("""
-            SELECT COUNT(o)
+            SELECT new com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderSalesSnapshot(
+                o.customer.id, o.placedAt, o.paidAt, o.totalAmount
+            )
             FROM OrderPersistenceEntity o
-            WHERE o.customer.id = :customerId
-            AND YEAR(o.placedAt) = :year
-            AND o.paidAt is NOT NULL
-            AND o.canceledAt is NULL
+            WHERE o.id = :id
     """)
-    long salesQuantityByCustomerInYear(
-            @Param("customerId") UUID customerId,
-            @Param("year") Integer year
-    );
+    Optional<OrderSalesSnapshot> findSalesSnapshotById(@Param("id") Long id);
 
     @Query("""
-            SELECT COALESCE(SUM(o.totalAmount), 0)
+            SELECT new com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderStatusSnapshot(
+                o.id, o.customer.id, o.status, o.version, o.placedAt
+            )
             FROM OrderPersistenceEntity o
-            WHERE o.customer.id = :customerId
-            AND o.canceledAt is NULL
-            AND o.paidAt is NOT NULL
+            WHERE o.id = :id
+    """)
+    Optional<OrderStatusSnapshot> findStatusSnapshotById(@Param("id") Long id);
+
+    @Query("""
+            SELECT new com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderStatusSnapshot(
+                o.id, o.customer.id, o.status, o.version, o.placedAt
+            )
+            FROM OrderPersistenceEntity o
+            WHERE o.id IN :ids
+    """)
+    List<OrderStatusSnapshot> findStatusSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            UPDATE OrderPersistenceEntity o
+            SET o.status = :newStatus,
+                o.paidAt = :changedAt,
+                o.version = o.version + 1,
+                o.lastModifiedAt = :changedAt,
+                o.lastModifiedByUserId = :userId
+            WHERE o.id = :id
+            AND o.status = :expectedStatus
+            AND o.version = :expectedVersion
+    """)
+    int updateStatusToPaid(
+            @Param("id") Long id,
+            @Param("expectedStatus") String expectedStatus,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("newStatus") String newStatus,
+            @Param("changedAt") OffsetDateTime changedAt,
+            @Param("userId") UUID userId
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            UPDATE OrderPersistenceEntity o
+            SET o.status = :newStatus,
+                o.readyAt = :changedAt,
+                o.version = o.version + 1,
+                o.lastModifiedAt = :changedAt,
+                o.lastModifiedByUserId = :userId
+            WHERE o.id = :id
+            AND o.status = :expectedStatus
+            AND o.version = :expectedVersion
+    """)
+    int updateStatusToReady(
+            @Param("id") Long id,
+            @Param("expectedStatus") String expectedStatus,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("newStatus") String newStatus,
+            @Param("changedAt") OffsetDateTime changedAt,
+            @Param("userId") UUID userId
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            UPDATE OrderPersistenceEntity o
+            SET o.status = :newStatus,
+                o.canceledAt = :changedAt,
+                o.version = o.version + 1,
+                o.lastModifiedAt = :changedAt,
+                o.lastModifiedByUserId = :userId
+            WHERE o.id = :id
+            AND o.status = :expectedStatus
+            AND o.version = :expectedVersion
     """)
-    BigDecimal totalSoldForCustomer(
-            @Param("customerId") UUID customerId
+    int updateStatusToCanceled(
+            @Param("id") Long id,
+            @Param("expectedStatus") String expectedStatus,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("newStatus") String newStatus,
+            @Param("changedAt") OffsetDateTime changedAt,
+            @Param("userId") UUID userId
     );
 
     @Override
@@ -1,10 +1,13 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.order;
 
+import com.algaworks.algashop.ordering.application.commons.AddressData;
 import com.algaworks.algashop.ordering.application.order.query.*;
-import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.application.utility.CursorPage;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
 import com.algaworks.algashop.ordering.domain.model.order.OrderNotFoundException;
+import io.hypersistence.tsid.TSID;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
@@ -15,24 +18,199 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class OrderQueryServiceImpl implements OrderQueryService {
 
-    private final OrderPersistenceEntityRepository repository;
-    private final Mapper mapper;
-
     private final EntityManager entityManager;
 
+    // valores escalares, uma linha por item: nada é carregado como entidade gerenciada
+    private static final String findDetailByIdJPQL = """
+            SELECT
+                o.id AS id,
+                o.totalItems AS totalItems,
+                o.totalAmount AS totalAmount,
+                o.placedAt AS placedAt,
+                o.paidAt AS paidAt,
+                o.canceledAt AS canceledAt,
+                o.readyAt AS readyAt,
+                o.status AS status,
+                o.paymentMethod AS paymentMethod,
+                o.creditCardId AS creditCardId,
+                c.id AS customerId,
+                c.firstName AS customerFirstName,
+                c.lastName AS customerLastName,
+                c.email AS customerEmail,
+                c.document AS customerDocument,
+                c.phone AS customerPhone,
+                o.shipping.cost AS shippingCost,
+                o.shipping.expectedDate AS shippingExpectedDate,
+                o.shipping.recipient.firstName AS recipientFirstName,
+                o.shipping.recipient.lastName AS recipientLastName,
+                o.shipping.recipient.document AS recipientDocument,
+                o.shipping.recipient.phone AS recipientPhone,
+                o.shipping.address.street AS shippingStreet,
+                o.shipping.address.number AS shippingNumber,
+                o.shipping.address.complement AS shippingComplement,
+                o.shipping.address.neighborhood AS shippingNeighborhood,
+                o.shipping.address.city AS shippingCity,
+                o.shipping.address.state AS shippingState,
+                o.shipping.address.zipCode AS shippingZipCode,
+                o.billing.firstName AS billingFirstName,
+                o.billing.lastName AS billingLastName,
+                o.billing.document AS billingDocument,
+                o.billing.email AS billingEmail,
+                o.billing.phone AS billingPhone,
+                o.billing.address.street AS billingStreet,
+                o.billing.address.number AS billingNumber,
+                o.billing.address.complement AS billingComplement,
+                o.billing.address.neighborhood AS billingNeighborhood,
+                o.billing.address.city AS billingCity,
+                o.billing.address.state AS billingState,
+                o.billing.address.zipCode AS billingZipCode,
+                i.id AS itemId,
+                i.productId AS itemProductId,
+                i.productName AS itemProductName,
+                i.price AS itemPrice,
+                i.quantity AS itemQuantity,
+                i.totalAmount AS itemTotalAmount
+            FROM OrderPersistenceEntity o
+            JOIN o.customer c
+            LEFT JOIN o.items i
+            WHERE o.id = :id
+            ORDER BY i.id""";
+
     @Override
     public OrderDetailOutput findById(String id) {
-        OrderPersistenceEntity entity = repository.findById(new OrderId(id).value().toLong())
-                .orElseThrow(OrderNotFoundException::new);
-        return mapper.convert(entity, OrderDetailOutput.class);
+        List<Tuple> rows = entityManager.createQuery(findDetailByIdJPQL, Tuple.class)
+                .setParameter("id", new OrderId(id).value().toLong())
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            throw new OrderNotFoundException();
+        }
+
+        OrderDetailOutput output = toOrderDetailOutput(rows.getFirst());
+        for (Tuple row : rows) {
+            if (row.get("itemId") != null) {
+                output.getItems().add(toOrderItemDetailOutput(row, output.getId()));
+            }
+        }
+        return output;
+    }
+
+    private OrderDetailOutput toOrderDetailOutput(Tuple row) {
+        return OrderDetailOutput.builder()
+                .id(new TSID(row.get("id", Long.class)).toString())
+                .totalItems(row.get("totalItems", Integer.class))
+                .totalAmount(row.get("totalAmount", BigDecimal.class))
+                .placedAt(row.get("placedAt", OffsetDateTime.class))
+                .paidAt(row.get("paidAt", OffsetDateTime.class))
+                .canceledAt(row.get("canceledAt", OffsetDateTime.class))
+                .readyAt(row.get("readyAt", OffsetDateTime.class))
+                .status(row.get("status", String.class))
+                .paymentMethod(row.get("paymentMethod", String.class))
+                .creditCardId(row.get("creditCardId", UUID.class))
+                .customer(CustomerMinimalOutput.builder()
+                        .id(row.get("customerId", UUID.class))
+                        .firstName(row.get("customerFirstName", String.class))
+                        .lastName(row.get("customerLastName", String.class))
+                        .email(row.get("customerEmail", String.class))
+                        .document(row.get("customerDocument", String.class))
+                        .phone(row.get("customerPhone", String.class))
+                        .build())
+                .shipping(toShippingData(row))
+                .billing(toBillingData(row))
+                .items(new ArrayList<>())
+                .build();
+    }
+
+    private ShippingData toShippingData(Tuple row) {
+        RecipientData recipient = toRecipientData(row);
+        AddressData address = toAddressData(row, "shipping");
+        if (recipient == null && address == null && allNull(row, "shippingCost", "shippingExpectedDate")) {
+            return null;
+        }
+        return ShippingData.builder()
+                .cost(row.get("shippingCost", BigDecimal.class))
+                .expectedDate(row.get("shippingExpectedDate", LocalDate.class))
+                .recipient(recipient)
+                .address(address)
+                .build();
+    }
+
+    private RecipientData toRecipientData(Tuple row) {
+        if (allNull(row, "recipientFirstName", "recipientLastName", "recipientDocument", "recipientPhone")) {
+            return null;
+        }
+        return RecipientData.builder()
+                .firstName(row.get("recipientFirstName", String.class))
+                .lastName(row.get("recipientLastName", String.class))
+                .document(row.get("recipientDocument", String.class))
+                .phone(row.get("recipientPhone", String.class))
+                .build();
+    }
+
+    private BillingData toBillingData(Tuple row) {
+        AddressData address = toAddressData(row, "billing");
+        if (address == null && allNull(row, "billingFirstName", "billingLastName",
+                "billingDocument", "billingEmail", "billingPhone")) {
+            return null;
+        }
+        return BillingData.builder()
+                .firstName(row.get("billingFirstName", String.class))
+                .lastName(row.get("billingLastName", String.class))
+                .document(row.get("billingDocument", String.class))
+                .email(row.get("billingEmail", String.class))
+                .phone(row.get("billingPhone", String.class))
+                .address(address)
+                .build();
+    }
+
+    private AddressData toAddressData(Tuple row, String prefix) {
+        if (allNull(row, prefix + "Street", prefix + "Number", prefix + "Complement", prefix + "Neighborhood",
+                prefix + "City", prefix + "State", prefix + "ZipCode")) {
+            return null;
+        }
+        return AddressData.builder()
+                .street(row.get(prefix + "Street", String.class))
+                .number(row.get(prefix + "Number", String.class))
+                .complement(row.get(prefix + "Complement", String.class))
+                .neighborhood(row.get(prefix + "Neighborhood", String.class))
+                .city(row.get(prefix + "City", String.class))
+                .state(row.get(prefix + "State", String.class))
+                .zipCode(row.get(prefix + "ZipCode", String.class))
+                .build();
+    }
+
+    // como o Hibernate faz com embeddables: todas as colunas nulas viram um objeto nulo
+    private boolean allNull(Tuple row, String... aliases) {
+        for (String alias : aliases) {
+            if (row.get(alias) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private OrderItemDetailOutput toOrderItemDetailOutput(Tuple row, String orderId) {
+        return OrderItemDetailOutput.builder()
+                .id(new TSID(row.get("itemId", Long.class)).toString())
+                .orderId(orderId)
+                .productId(row.get("itemProductId", UUID.class))
+                .productName(row.get("itemProductName", String.class))
+                .price(row.get("itemPrice", BigDecimal.class))
+                .quantity(row.get("itemQuantity", Integer.class))
+                .totalAmount(row.get("itemTotalAmount", BigDecimal.class))
+                .build();
     }
 
     @Override
@@ -53,36 +231,14 @@ public class OrderQueryServiceImpl implements OrderQueryService {
 
         Root<OrderPersistenceEntity> root = criteriaQuery.from(OrderPersistenceEntity.class);
 
-        Path<Object> customer = root.get("customer");
-
-        criteriaQuery.select(
-                builder.construct(OrderSummaryOutput.class,
-                        root.get("id"),
-                        root.get("totalItems"),
-                        root.get("totalAmount"),
-                        root.get("placedAt"),
-                        root.get("paidAt"),
-                        root.get("canceledAt"),
-                        root.get("readyAt"),
-                        root.get("status"),
-                        root.get("paymentMethod"),
-                        builder.construct(CustomerMinimalOutput.class,
-                                customer.get("id"),
-                                customer.get("firstName"),
-                                customer.get("lastName"),
-                                customer.get("email"),
-                                customer.get("document"),
-                                customer.get("phone")
-                        )
-                )
-        );
+        criteriaQuery.select(toSummaryOutputSelection(builder, root));
 
         Predicate[] predicates = toPredicates(builder, root, filter);
         Order sortOrder = toSortOrder(builder, root, filter);
 
         criteriaQuery.where(predicates);
         if (sortOrder != null) {
-            criteriaQuery.orderBy(sortOrder);
+            criteriaQuery.orderBy(sortOrder, toTieBreakerOrder(builder, root, filter));
         }
 
         TypedQuery<OrderSummaryOutput> typedQuery = entityManager.createQuery(criteriaQuery);
@@ -94,6 +250,120 @@ public class OrderQueryServiceImpl implements OrderQueryService {
         return new PageImpl<>(typedQuery.getResultList(), pageRequest, totalQueryResults);
     }
 
+    @Override
+    public CursorPage<OrderSummaryOutput> filterAfter(OrderFilter filter) {
+        OrderFilter.SortType sortType = filter.getSortByPropertyOrDefault();
+        Sort.Direction direction = filter.getSortDirectionOrDefault();
+        OrderPageCursor cursor = OrderPageCursor.decode(filter.getAfter(), sortType, direction);
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryOutput> criteriaQuery = builder.createQuery(OrderSummaryOutput.class);
+
+        Root<OrderPersistenceEntity> root = criteriaQuery.from(OrderPersistenceEntity.class);
+
+        criteriaQuery.select(toSummaryOutputSelection(builder, root));
+
+        List<Predicate> predicates = new ArrayList<>(List.of(toPredicates(builder, root, filter)));
+        if (cursor != null) {
+            predicates.add(toKeysetPredicate(builder, root, cursor));
+        }
+
+        criteriaQuery.where(predicates.toArray(new Predicate[]{}));
+        criteriaQuery.orderBy(toSortOrder(builder, root, filter), toTieBreakerOrder(builder, root, filter));
+
+        TypedQuery<OrderSummaryOutput> typedQuery = entityManager.createQuery(criteriaQuery);
+        typedQuery.setMaxResults(filter.getSize() + 1);
+
+        List<OrderSummaryOutput> content = new ArrayList<>(typedQuery.getResultList());
+
+        String nextCursor = null;
+        if (content.size() > filter.getSize()) {
+            content = new ArrayList<>(content.subList(0, filter.getSize()));
+            nextCursor = OrderPageCursor.after(sortType, direction, content.getLast()).encode();
+        }
+
+        Long totalElements = filter.isWithTotal() ? countTotalQueryResults(filter) : null;
+
+        return CursorPage.<OrderSummaryOutput>builder()
+                .content(content)
+                .size(filter.getSize())
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    private CompoundSelection<OrderSummaryOutput> toSummaryOutputSelection(CriteriaBuilder builder,
+                                                                          Root<OrderPersistenceEntity> root) {
+        Path<Object> customer = root.get("customer");
+
+        return builder.construct(OrderSummaryOutput.class,
+                root.get("id"),
+                root.get("totalItems"),
+                root.get("totalAmount"),
+                root.get("placedAt"),
+                root.get("paidAt"),
+                root.get("canceledAt"),
+                root.get("readyAt"),
+                root.get("status"),
+                root.get("paymentMethod"),
+                builder.construct(CustomerMinimalOutput.class,
+                        customer.get("id"),
+                        customer.get("firstName"),
+                        customer.get("lastName"),
+                        customer.get("email"),
+                        customer.get("document"),
+                        customer.get("phone")
+                )
+        );
+    }
+
+    private Predicate toKeysetPredicate(CriteriaBuilder builder,
+                                        Root<OrderPersistenceEntity> root,
+                                        OrderPageCursor cursor) {
+        String propertyName = cursor.sortType().getPropertyName();
+        if (cursor.isTimestampKey()) {
+            return toKeysetPredicate(builder, root, root.<OffsetDateTime>get(propertyName),
+                    cursor.timestampValue(), cursor);
+        }
+        return toKeysetPredicate(builder, root, root.<String>get(propertyName), cursor.value(), cursor);
+    }
+
+    // nulos seguem o padrão do PostgreSQL: NULLS LAST em ASC e NULLS FIRST em DESC
+    private <Y extends Comparable<? super Y>> Predicate toKeysetPredicate(CriteriaBuilder builder,
+                                                                          Root<OrderPersistenceEntity> root,
+                                                                          Path<Y> key,
+                                                                          Y lastValue,
+                                                                          OrderPageCursor cursor) {
+        Path<Long> id = root.get("id");
+        boolean ascending = cursor.direction() == Sort.Direction.ASC;
+
+        Predicate idAfter = ascending
+                ? builder.greaterThan(id, cursor.id())
+                : builder.lessThan(id, cursor.id());
+
+        if (lastValue == null) {
+            Predicate sameNullKey = builder.and(builder.isNull(key), idAfter);
+            return ascending ? sameNullKey : builder.or(sameNullKey, builder.isNotNull(key));
+        }
+
+        Predicate keyAfter = ascending
+                ? builder.greaterThan(key, lastValue)
+                : builder.lessThan(key, lastValue);
+        Predicate sameKey = builder.and(builder.equal(key, lastValue), idAfter);
+
+        if (ascending) {
+            return builder.or(keyAfter, sameKey, builder.isNull(key));
+        }
+        return builder.or(keyAfter, sameKey);
+    }
+
+    private Order toTieBreakerOrder(CriteriaBuilder builder, Root<OrderPersistenceEntity> root, OrderFilter filter) {
+        if (filter.getSortDirectionOrDefault() == Sort.Direction.DESC) {
+            return builder.desc(root.get("id"));
+        }
+        return builder.asc(root.get("id"));
+    }
+
     private Long countTotalQueryResults(OrderFilter filter) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
@@ -0,0 +1,8 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OrderSalesSnapshot(UUID customerId, OffsetDateTime placedAt, OffsetDateTime paidAt, BigDecimal totalAmount) {
+}
@@ -0,0 +1,7 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OrderStatusSnapshot(Long id, UUID customerId, String status, Long version, OffsetDateTime placedAt) {
+}
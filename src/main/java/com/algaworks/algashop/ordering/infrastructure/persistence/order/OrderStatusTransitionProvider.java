@@ -0,0 +1,186 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.order.*;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.algaworks.algashop.ordering.domain.model.ErrorMessages.*;
+
+// transições de status sem hidratar o agregado: lê apenas status/versão e faz um UPDATE condicional
+@Component
+@RequiredArgsConstructor
+public class OrderStatusTransitionProvider implements OrderStatusTransitionService {
+
+    private final OrderPersistenceEntityRepository persistenceRepository;
+    private final AuditorAware<UUID> auditorProvider;
+    private final DomainEventDispatcher domainEventDispatcher;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void markAsPaid(OrderId orderId) {
+        OrderStatusSnapshot snapshot = validateTransition(orderId, OrderStatus.PAID);
+        OffsetDateTime paidAt = OffsetDateTime.now();
+        checkUpdated(persistenceRepository.updateStatusToPaid(snapshot.id(), snapshot.status(),
+                snapshot.version(), OrderStatus.PAID.name(), paidAt, currentUserId()), snapshot);
+        domainEventDispatcher.dispatch(new OrderPaidEvent(orderId, new CustomerId(snapshot.customerId()),
+                snapshot.placedAt()));
+    }
+
+    @Override
+    @Transactional
+    public void markAsReady(OrderId orderId) {
+        OrderStatusSnapshot snapshot = validateTransition(orderId, OrderStatus.READY);
+        OffsetDateTime readyAt = OffsetDateTime.now();
+        checkUpdated(persistenceRepository.updateStatusToReady(snapshot.id(), snapshot.status(),
+                snapshot.version(), OrderStatus.READY.name(), readyAt, currentUserId()), snapshot);
+        domainEventDispatcher.dispatch(new OrderReadyEvent(orderId, new CustomerId(snapshot.customerId()), readyAt));
+    }
+
+    @Override
+    @Transactional
+    public void cancel(OrderId orderId) {
+        OrderStatusSnapshot snapshot = validateTransition(orderId, OrderStatus.CANCELED);
+        OffsetDateTime canceledAt = OffsetDateTime.now();
+        checkUpdated(persistenceRepository.updateStatusToCanceled(snapshot.id(), snapshot.status(),
+                snapshot.version(), OrderStatus.CANCELED.name(), canceledAt, currentUserId()), snapshot);
+        domainEventDispatcher.dispatch(new OrderCanceledEvent(orderId, new CustomerId(snapshot.customerId()),
+                canceledAt));
+    }
+
+    // versão em lote: um SELECT das situações atuais e um UPDATE ... RETURNING para todos os pedidos elegíveis;
+    // os ids devolvidos pelo próprio UPDATE dizem quais mudaram (os demais foram alterados concorrentemente)
+    @Override
+    @Transactional
+    public List<OrderStatusTransitionResult> changeStatus(Collection<OrderId> orderIds, OrderStatus newStatus) {
+        Map<Long, OrderStatusSnapshot> snapshots = persistenceRepository.findStatusSnapshotsByIdIn(
+                orderIds.stream().map(orderId -> orderId.value().toLong()).toList()
+        ).stream().collect(Collectors.toMap(OrderStatusSnapshot::id, snapshot -> snapshot));
+
+        Map<OrderId, OrderStatusTransitionResult> results = new LinkedHashMap<>();
+        List<OrderStatusSnapshot> candidates = new ArrayList<>();
+
+        for (OrderId orderId : orderIds) {
+            OrderStatusSnapshot snapshot = snapshots.get(orderId.value().toLong());
+            if (snapshot == null) {
+                results.put(orderId, OrderStatusTransitionResult.failed(orderId,
+                        String.format(ERROR_ORDER_NOT_FOUND, orderId)));
+                continue;
+            }
+            OrderStatus currentStatus = OrderStatus.valueOf(snapshot.status());
+            if (currentStatus.canNotChangeTo(newStatus)) {
+                results.put(orderId, OrderStatusTransitionResult.failed(orderId,
+                        String.format(ERROR_ORDER_STATUS_CANNOT_BE_CHANGED, orderId, currentStatus, newStatus)));
+                continue;
+            }
+            candidates.add(snapshot);
+        }
+
+        if (candidates.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        List<Long> candidateIds = candidates.stream().map(OrderStatusSnapshot::id).toList();
+        OffsetDateTime changedAt = OffsetDateTime.now();
+        Set<Long> changedIds = bulkUpdateStatus(candidateIds, newStatus, changedAt);
+
+        List<Object> events = new ArrayList<>();
+        for (OrderStatusSnapshot snapshot : candidates) {
+            OrderId orderId = new OrderId(snapshot.id());
+            if (changedIds.contains(snapshot.id())) {
+                results.put(orderId, OrderStatusTransitionResult.changed(orderId));
+                events.add(toEvent(snapshot, newStatus, changedAt));
+            } else {
+                results.put(orderId, OrderStatusTransitionResult.failed(orderId,
+                        String.format(ERROR_ORDER_CONCURRENTLY_MODIFIED, orderId)));
+            }
+        }
+        domainEventDispatcher.dispatch(events);
+
+        return new ArrayList<>(results.values());
+    }
+
+    private Set<Long> bulkUpdateStatus(List<Long> ids, OrderStatus newStatus, OffsetDateTime changedAt) {
+        List<String> previousStatuses = Arrays.stream(OrderStatus.values())
+                .filter(status -> status.canChangeTo(newStatus))
+                .map(OrderStatus::name)
+                .toList();
+
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Number> changedIds = entityManager.createNativeQuery("""
+                UPDATE "order" SET
+                    status = :newStatus,
+                    %s = :changedAt,
+                    version = version + 1,
+                    last_modified_at = :changedAt,
+                    last_modified_by_user_id = :userId
+                WHERE id IN (:ids)
+                AND status IN (:previousStatuses)
+                RETURNING id
+                """.formatted(timestampColumn(newStatus)))
+                .unwrap(NativeQuery.class)
+                .setParameter("newStatus", newStatus.name())
+                .setParameter("changedAt", changedAt)
+                .setParameter("userId", currentUserId(), StandardBasicTypes.UUID)
+                .setParameterList("ids", ids)
+                .setParameterList("previousStatuses", previousStatuses)
+                .getResultList();
+        entityManager.clear();
+        return changedIds.stream().map(Number::longValue).collect(Collectors.toSet());
+    }
+
+    private String timestampColumn(OrderStatus newStatus) {
+        return switch (newStatus) {
+            case PAID -> "paid_at";
+            case READY -> "ready_at";
+            case CANCELED -> "canceled_at";
+            case DRAFT, PLACED -> throw new IllegalArgumentException("Unsupported status transition to " + newStatus);
+        };
+    }
+
+    private Object toEvent(OrderStatusSnapshot snapshot, OrderStatus newStatus, OffsetDateTime changedAt) {
+        OrderId orderId = new OrderId(snapshot.id());
+        CustomerId customerId = new CustomerId(snapshot.customerId());
+        return switch (newStatus) {
+            case PAID -> new OrderPaidEvent(orderId, customerId, snapshot.placedAt());
+            case READY -> new OrderReadyEvent(orderId, customerId, changedAt);
+            case CANCELED -> new OrderCanceledEvent(orderId, customerId, changedAt);
+            case DRAFT, PLACED -> throw new IllegalArgumentException("Unsupported status transition to " + newStatus);
+        };
+    }
+
+    private OrderStatusSnapshot validateTransition(OrderId orderId, OrderStatus newStatus) {
+        OrderStatusSnapshot snapshot = persistenceRepository.findStatusSnapshotById(orderId.value().toLong())
+                .orElseThrow(OrderNotFoundException::new);
+
+        OrderStatus currentStatus = OrderStatus.valueOf(snapshot.status());
+        if (currentStatus.canNotChangeTo(newStatus)) {
+            throw new OrderStatusCannotBeChangedException(orderId, currentStatus, newStatus);
+        }
+
+        return snapshot;
+    }
+
+    private void checkUpdated(int updatedRows, OrderStatusSnapshot snapshot) {
+        if (updatedRows == 0) {
+            throw new ObjectOptimisticLockingFailureException(OrderPersistenceEntity.class, snapshot.id());
+        }
+    }
+
+    private UUID currentUserId() {
+        return auditorProvider.getCurrentAuditor().orElse(null);
+    }
+}
@@ -5,14 +5,12 @@ import com.algaworks.algashop.ordering.domain.model.order.Orders;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
-import jakarta.persistence.EntityManager;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateVersionAccessor;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
-import java.lang.reflect.Field;
 import java.time.Year;
 import java.util.List;
 import java.util.Optional;
@@ -27,8 +25,8 @@ public class OrdersPersistenceProvider implements Orders {
     private final OrderPersistenceEntityRepository persistenceRepository;
     private final OrderPersistenceEntityAssembler assembler;
     private final OrderPersistenceEntityDisassembler disassembler;
-
-    private final EntityManager entityManager;
+    private final CustomerSalesStatsPersistenceEntityRepository salesStatsRepository;
+    private final DomainEventDispatcher domainEventDispatcher;
 
     @Override
     public Optional<Order> ofId(OrderId orderId) {
@@ -59,6 +57,9 @@ public class OrdersPersistenceProvider implements Orders {
                         persistenceEntity -> update(aggregateRoot, persistenceEntity),
                         () -> insert(aggregateRoot)
                 );
+
+        domainEventDispatcher.dispatch(aggregateRoot.domainEvents());
+        aggregateRoot.clearDomainEvents();
     }
 
     @Override
@@ -73,7 +74,7 @@ public class OrdersPersistenceProvider implements Orders {
 
     @Override
     public long salesQuantityByCustomerInYear(CustomerId customerId, Year year) {
-        return this.persistenceRepository.salesQuantityByCustomerInYear(
+        return this.salesStatsRepository.paidCountByCustomerInYear(
                 customerId.value(),
                 year.getValue()
         );
@@ -81,28 +82,21 @@ public class OrdersPersistenceProvider implements Orders {
 
     @Override
     public Money totalSoldForCustomer(CustomerId customerId) {
-        return new Money(this.persistenceRepository.totalSoldForCustomer(customerId.value()));
+        return new Money(this.salesStatsRepository.paidAmountByCustomer(customerId.value()));
     }
 
     private void insert(Order aggregateRoot) {
         OrderPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
         persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
     private void update(Order aggregateRoot, OrderPersistenceEntity persistenceEntity) {
+        AggregateVersionAccessor.checkVersion(aggregateRoot.version(), persistenceEntity.getVersion(),
+                OrderPersistenceEntity.class, persistenceEntity.getId());
         persistenceEntity = assembler.merge(persistenceEntity, aggregateRoot);
-        entityManager.detach(persistenceEntity);
         persistenceEntity = persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
-    }
-
-    @SneakyThrows
-    private void updateVersion(Order aggregateRoot, OrderPersistenceEntity persistenceEntity) {
-        Field version = aggregateRoot.getClass().getDeclaredField("version");
-        version.setAccessible(true);
-        ReflectionUtils.setField(version, aggregateRoot, persistenceEntity.getVersion());
-        version.setAccessible(false);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
 }
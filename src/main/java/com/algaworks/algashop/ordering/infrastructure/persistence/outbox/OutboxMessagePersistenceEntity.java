@@ -0,0 +1,47 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@DynamicUpdate
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(of = {"id", "eventType", "status"})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Table(name = "outbox_message")
+public class OutboxMessagePersistenceEntity {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    private OffsetDateTime occurredAt;
+    private String status;
+    private Integer attempts;
+    private OffsetDateTime availableAt;
+    private OffsetDateTime processedAt;
+    private String lastError;
+
+    public boolean isPending() {
+        return STATUS_PENDING.equals(status);
+    }
+}
@@ -0,0 +1,54 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxMessagePersistenceEntityRepository
+        extends JpaRepository<OutboxMessagePersistenceEntity, Long> {
+
+    // SKIP LOCKED: cada instância do relay reserva um lote diferente sem esperar pelas outras
+    @Query(value = """
+            SELECT * FROM outbox_message
+            WHERE status = 'PENDING'
+            AND available_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxMessagePersistenceEntity> lockDispatchable(
+            @Param("now") OffsetDateTime now,
+            @Param("limit") int limit
+    );
+
+    // trava a mensagem durante a entrega: se o lease do lote expirou e outra instância a reservou, uma delas pula
+    @Query(value = """
+            SELECT * FROM outbox_message
+            WHERE id = :id
+            AND status = 'PENDING'
+            FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    Optional<OutboxMessagePersistenceEntity> lockPending(@Param("id") Long id);
+
+    @Query("""
+            SELECT MIN(o.occurredAt)
+            FROM OutboxMessagePersistenceEntity o
+            WHERE o.status = 'PENDING'
+    """)
+    Optional<OffsetDateTime> oldestPendingOccurredAt();
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("""
+            DELETE FROM OutboxMessagePersistenceEntity o
+            WHERE o.status = 'PROCESSED'
+            AND o.processedAt < :before
+    """)
+    int deleteProcessedBefore(@Param("before") OffsetDateTime before);
+}
@@ -7,17 +7,17 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.domain.AbstractAggregateRoot;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @ToString(of = "id")
@@ -25,8 +25,7 @@ import java.util.UUID;
 @Table(name = "\"shopping_cart\"")
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-public class ShoppingCartPersistenceEntity
-        extends AbstractAggregateRoot<ShoppingCartPersistenceEntity> {
+public class ShoppingCartPersistenceEntity {
     @Id
     @EqualsAndHashCode.Include
     private UUID id;
@@ -91,24 +90,16 @@ public class ShoppingCartPersistenceEntity
     }
 
     public void replaceItems(Set<ShoppingCartItemPersistenceEntity> updatedItems) {
-        if (updatedItems == null || updatedItems.isEmpty()) {
+        if (this.getItems() == null) {
             this.setItems(new HashSet<>());
+        }
+        if (updatedItems == null || updatedItems.isEmpty()) {
+            this.getItems().clear();
             return;
         }
 
         updatedItems.forEach(i -> i.setShoppingCart(this));
-        this.setItems(updatedItems);
-    }
-
-    public Collection<Object> getEvents() {
-        return super.domainEvents();
-    }
-
-    public void addEvents(Collection<Object> events) {
-        if (events != null) {
-            for (Object event : events) {
-                this.registerEvent(event);
-            }
-        }
+        this.getItems().retainAll(updatedItems);
+        this.getItems().addAll(updatedItems);
     }
 }
\ No newline at end of file
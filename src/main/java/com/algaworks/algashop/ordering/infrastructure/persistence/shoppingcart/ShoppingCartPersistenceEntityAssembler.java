@@ -35,7 +35,6 @@ public class ShoppingCartPersistenceEntityAssembler {
         persistenceEntity.setCreatedAt(shoppingCart.createdAt());
         Set<ShoppingCartItemPersistenceEntity> mergeItems = mergeItems(shoppingCart, persistenceEntity);
         persistenceEntity.replaceItems(mergeItems);
-        persistenceEntity.addEvents(shoppingCart.domainEvents());
         return persistenceEntity;
     }
 
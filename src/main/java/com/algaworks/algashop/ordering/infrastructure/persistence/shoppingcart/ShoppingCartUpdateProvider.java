@@ -1,28 +1,144 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
 
+import com.algaworks.algashop.ordering.domain.model.product.ProductChangedEvent;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustment;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustmentSummary;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class ShoppingCartUpdateProvider implements ShoppingCartProductAdjustmentService {
 
+    private static final int STAGING_BATCH_SIZE = 1000;
+
     private final ShoppingCartPersistenceEntityRepository shoppingCartPersistenceEntityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     @Transactional
     public void adjustPrice(ProductId productId, Money updatedPrice) {
         shoppingCartPersistenceEntityRepository.updateItemPrice(productId.value(), updatedPrice.value());
         shoppingCartPersistenceEntityRepository.recalculateTotalsForCartsWithProduct(productId.value());
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        cacheInvalidationBus.publish(CacheInvalidationBus.PRODUCTS, productId.value());
     }
 
     @Override
     @Transactional
     public void changeAvailability(ProductId productId, boolean available) {
         shoppingCartPersistenceEntityRepository.updateItemAvailability(productId.value(), available);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        cacheInvalidationBus.publish(CacheInvalidationBus.PRODUCTS, productId.value());
+    }
+
+    // o staging é gravado em lotes JDBC sem transação aberta durante a leitura do stream; a aplicação é uma transação só
+    @Override
+    public ProductAdjustmentSummary adjustAll(Stream<ProductAdjustment> adjustments) {
+        Objects.requireNonNull(adjustments);
+        UUID importId = UUID.randomUUID();
+        try {
+            if (stage(importId, adjustments) == 0) {
+                return new ProductAdjustmentSummary(0, 0, 0);
+            }
+            return transactionTemplate.execute(status -> applyStaged(importId));
+        } finally {
+            jdbcTemplate.update("DELETE FROM product_adjustment_staging WHERE import_id = ?", importId);
+        }
+    }
+
+    private long stage(UUID importId, Stream<ProductAdjustment> adjustments) {
+        List<Object[]> batch = new ArrayList<>(STAGING_BATCH_SIZE);
+        long line = 0;
+
+        for (ProductAdjustment adjustment : (Iterable<ProductAdjustment>) adjustments::iterator) {
+            batch.add(new Object[]{
+                    importId,
+                    ++line,
+                    adjustment.productId().value(),
+                    adjustment.price() == null ? null : adjustment.price().value(),
+                    adjustment.available()
+            });
+            if (batch.size() == STAGING_BATCH_SIZE) {
+                insertStaged(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            insertStaged(batch);
+        }
+        return line;
+    }
+
+    private void insertStaged(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO product_adjustment_staging (import_id, line, product_id, price, available)
+                VALUES (?, ?, ?, ?, ?)
+                """, batch);
+    }
+
+    private ProductAdjustmentSummary applyStaged(UUID importId) {
+        // por produto vale o último preço e a última disponibilidade informados no arquivo
+        int updatedItems = jdbcTemplate.update("""
+                UPDATE shopping_cart_item i SET
+                    price = COALESCE(s.price, i.price),
+                    total_amount = COALESCE(s.price, i.price) * i.quantity,
+                    available = COALESCE(s.available, i.available)
+                FROM (
+                    SELECT product_id,
+                        (ARRAY_AGG(price ORDER BY line DESC) FILTER (WHERE price IS NOT NULL))[1] AS price,
+                        (ARRAY_AGG(available ORDER BY line DESC) FILTER (WHERE available IS NOT NULL))[1] AS available
+                    FROM product_adjustment_staging
+                    WHERE import_id = ?
+                    GROUP BY product_id
+                ) s
+                WHERE i.product_id = s.product_id
+                AND (i.price IS DISTINCT FROM COALESCE(s.price, i.price)
+                    OR i.available IS DISTINCT FROM COALESCE(s.available, i.available))
+                """, importId);
+
+        int updatedShoppingCarts = jdbcTemplate.update("""
+                UPDATE shopping_cart sc SET total_amount = t.total_amount
+                FROM (
+                    SELECT i.shopping_cart_id, COALESCE(SUM(i.total_amount), 0) AS total_amount
+                    FROM shopping_cart_item i
+                    WHERE i.shopping_cart_id IN (
+                        SELECT ci.shopping_cart_id
+                        FROM shopping_cart_item ci
+                        JOIN product_adjustment_staging s ON s.product_id = ci.product_id
+                        WHERE s.import_id = ?
+                        AND s.price IS NOT NULL
+                    )
+                    GROUP BY i.shopping_cart_id
+                ) t
+                WHERE sc.id = t.shopping_cart_id
+                AND sc.total_amount IS DISTINCT FROM t.total_amount
+                """, importId);
+
+        List<UUID> productIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT product_id FROM product_adjustment_staging WHERE import_id = ?",
+                UUID.class, importId);
+        productIds.forEach(productId -> eventPublisher.publishEvent(new ProductChangedEvent(new ProductId(productId))));
+        cacheInvalidationBus.publish(CacheInvalidationBus.PRODUCTS, productIds);
+
+        return new ProductAdjustmentSummary(productIds.size(), updatedItems, updatedShoppingCarts);
     }
 }
@@ -4,14 +4,12 @@ import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCarts;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId;
-import jakarta.persistence.EntityManager;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateVersionAccessor;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
-import java.lang.reflect.Field;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,8 +21,7 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
     private final ShoppingCartPersistenceEntityRepository persistenceRepository;
     private final ShoppingCartPersistenceEntityAssembler assembler;
     private final ShoppingCartPersistenceEntityDisassembler disassembler;
-
-    private final EntityManager entityManager;
+    private final DomainEventDispatcher domainEventDispatcher;
 
     @Override
     public Optional<ShoppingCart> ofId(ShoppingCartId shoppingCartId) {
@@ -47,6 +44,9 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
                         (persistenceEntity) -> update(aggregateRoot, persistenceEntity),
                         ()-> insert(aggregateRoot)
                 );
+
+        domainEventDispatcher.dispatch(aggregateRoot.domainEvents());
+        aggregateRoot.clearDomainEvents();
     }
 
     @Override
@@ -55,24 +55,17 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
     }
 
     private void update(ShoppingCart aggregateRoot, ShoppingCartPersistenceEntity persistenceEntity) {
+        AggregateVersionAccessor.checkVersion(aggregateRoot.version(), persistenceEntity.getVersion(),
+                ShoppingCartPersistenceEntity.class, persistenceEntity.getId());
         persistenceEntity = assembler.merge(persistenceEntity, aggregateRoot);
-        entityManager.detach(persistenceEntity);
         persistenceEntity = persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
     private void insert(ShoppingCart aggregateRoot) {
         ShoppingCartPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
         persistenceRepository.saveAndFlush(persistenceEntity);
-        updateVersion(aggregateRoot, persistenceEntity);
-    }
-
-    @SneakyThrows
-    private void updateVersion(ShoppingCart aggregateRoot, ShoppingCartPersistenceEntity persistenceEntity) {
-        Field version = aggregateRoot.getClass().getDeclaredField("version");
-        version.setAccessible(true);
-        ReflectionUtils.setField(version, aggregateRoot, persistenceEntity.getVersion());
-        version.setAccessible(false);
+        AggregateVersionAccessor.updateVersion(aggregateRoot, persistenceEntity.getVersion());
     }
 
     @Override
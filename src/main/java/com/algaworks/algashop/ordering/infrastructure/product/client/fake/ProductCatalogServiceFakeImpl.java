@@ -7,7 +7,11 @@ import com.algaworks.algashop.ordering.domain.model.product.ProductName;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 //@Component
 public class ProductCatalogServiceFakeImpl implements ProductCatalogService {
@@ -20,4 +24,11 @@ public class ProductCatalogServiceFakeImpl implements ProductCatalogService {
                 .build();
         return Optional.of(product);
     }
+
+    @Override
+    public Map<ProductId, Product> ofIds(Collection<ProductId> productIds) {
+        return productIds.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), productId -> ofId(productId).orElseThrow()));
+    }
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.algaworks.algashop.ordering.infrastructure.product.client.http;
 
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ProductCatalogAPIClient {
     @GetExchange(value = "/api/v1/products/{productId}", accept = "application/json")
     ProductResponse getById(@PathVariable UUID productId);
+
+    @GetExchange(value = "/api/v1/products", accept = "application/json")
+    List<ProductResponse> getByIds(@RequestParam("ids") Collection<UUID> productIds);
 }
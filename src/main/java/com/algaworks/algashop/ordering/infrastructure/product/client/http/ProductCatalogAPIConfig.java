@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.infrastructure.product.client.http;
 
+import com.algaworks.algashop.ordering.infrastructure.http.OutboundHttpClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,8 +14,11 @@ public class ProductCatalogAPIConfig {
     @Bean
     public ProductCatalogAPIClient productCatalogAPIClient(
             RestClient.Builder builder,
+            OutboundHttpClients outboundHttpClients,
             @Value("${algashop.integrations.product-catalog.url}") String url) {
-        RestClient restClient = builder.baseUrl(url).build();
+        RestClient restClient = builder.baseUrl(url)
+                .requestFactory(outboundHttpClients.requestFactory("product-catalog"))
+                .build();
         RestClientAdapter adapter = RestClientAdapter.create(restClient);
         HttpServiceProxyFactory proxyFactory = HttpServiceProxyFactory.builderFor(adapter).build();
         return proxyFactory.createClient(ProductCatalogAPIClient.class);
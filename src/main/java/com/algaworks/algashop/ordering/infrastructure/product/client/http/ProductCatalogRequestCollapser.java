@@ -0,0 +1,141 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.http;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import com.algaworks.algashop.ordering.application.utility.DeadlineExceededException;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// agrupa os pedidos concorrentes de produtos numa janela curta e os busca em uma única chamada ao catálogo.
+// o lote roda sob o prazo mais longo entre os pedidos (ilimitado se algum não tiver prazo)
+class ProductCatalogRequestCollapser implements AutoCloseable {
+
+    private final Function<Set<ProductId>, Map<ProductId, Product>> batchLoader;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService loaderExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<ProductId, CompletableFuture<Product>> pending = new HashMap<>();
+    private Deadline pendingDeadline = Deadline.none();
+    private ScheduledFuture<?> scheduledFlush;
+
+    ProductCatalogRequestCollapser(Function<Set<ProductId>, Map<ProductId, Product>> batchLoader,
+                                   Duration window,
+                                   int maxBatchSize) {
+        this.batchLoader = batchLoader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("product-catalog-collapser").daemon().factory());
+        this.loaderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    CompletableFuture<Product> submit(ProductId productId) {
+        if (window.isZero() || maxBatchSize <= 1) {
+            try {
+                return CompletableFuture.completedFuture(batchLoader.apply(Set.of(productId)).get(productId));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Deadline callerDeadline = Deadline.current();
+        CompletableFuture<Product> future;
+        Batch fullBatch = null;
+
+        lock.lock();
+        try {
+            pendingDeadline = pending.isEmpty() ? callerDeadline : Deadline.latest(pendingDeadline, callerDeadline);
+            future = pending.computeIfAbsent(productId, id -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+
+        return future;
+    }
+
+    private void flush() {
+        Batch batch;
+        lock.lock();
+        try {
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.futures().isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Batch takePending() {
+        Batch batch = new Batch(pending, pendingDeadline);
+        pending = new HashMap<>();
+        pendingDeadline = Deadline.none();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        loaderExecutor.execute(() -> {
+            try {
+                Map<ProductId, Product> products = batch.deadline()
+                        .run(() -> batchLoader.apply(Set.copyOf(batch.futures().keySet())));
+                batch.futures().forEach((productId, future) -> future.complete(products.get(productId)));
+            } catch (RuntimeException e) {
+                batch.futures().values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    // cada pedido espera no máximo o próprio prazo, mesmo que o lote siga valendo para outros
+    static <T> T await(CompletableFuture<T> future) {
+        Deadline deadline = Deadline.current();
+        try {
+            if (!deadline.isBounded()) {
+                return future.join();
+            }
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Deadline exceeded while waiting product catalog");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting product catalog");
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        loaderExecutor.shutdown();
+    }
+
+    private record Batch(Map<ProductId, CompletableFuture<Product>> futures, Deadline deadline) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.http;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// só para leituras idempotentes. Cada chamada primária credita `budget` de um hedge (0.05 = até ~5% de carga extra)
+// e cada hedge consome um crédito inteiro
+class ProductCatalogRequestHedger implements AutoCloseable {
+
+    private static final long ONE_HEDGE = 1_000_000L;
+    private static final int MAX_BURST_HEDGES = 10;
+    private static final int SAMPLE_SIZE = 1000;
+    private static final int MIN_SAMPLES = 100;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final long creditPerRequest;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong credits = new AtomicLong();
+
+    private final long[] samples = new long[SAMPLE_SIZE];
+    private int sampleCount;
+    private int nextSample;
+    private volatile long delayNanos;
+
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter budgetExhausted;
+
+    ProductCatalogRequestHedger(boolean enabled, double percentile, Duration initialDelay, Duration minDelay,
+                                double budget, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.creditPerRequest = Math.round(budget * ONE_HEDGE);
+        this.delayNanos = Math.max(initialDelay.toNanos(), minDelay.toNanos());
+
+        this.hedgesSent = hedgeCounter(meterRegistry, "sent");
+        this.hedgesWon = hedgeCounter(meterRegistry, "won");
+        this.budgetExhausted = hedgeCounter(meterRegistry, "budget-exhausted");
+        Gauge.builder("product-catalog.hedge.delay", this, hedger -> hedger.delayNanos / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    <T> T call(Supplier<T> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        credits.updateAndGet(current -> Math.min(current + creditPerRequest, MAX_BURST_HEDGES * ONE_HEDGE));
+
+        // as tentativas rodam em outras threads, mas dentro do prazo de quem chamou
+        Deadline deadline = Deadline.current();
+        Supplier<T> attemptRequest = () -> deadline.run(request);
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pendingAttempts = new AtomicInteger(1);
+        Future<?> primary = executor.submit(() -> attempt(attemptRequest, winner, pendingAttempts, false));
+        Future<?> hedge = null;
+
+        try {
+            try {
+                return winner.get(delayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (tryConsumeCredit()) {
+                    // conta a tentativa antes de dispará-la, para que uma falha da primária não encerre a disputa
+                    pendingAttempts.incrementAndGet();
+                    hedgesSent.increment();
+                    hedge = executor.submit(() -> attempt(attemptRequest, winner, pendingAttempts, true));
+                } else {
+                    budgetExhausted.increment();
+                }
+                return winner.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting product catalog");
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> void attempt(Supplier<T> request, CompletableFuture<T> winner,
+                             AtomicInteger pendingAttempts, boolean isHedge) {
+        long start = System.nanoTime();
+        try {
+            T result = request.get();
+            recordLatency(System.nanoTime() - start);
+            if (winner.complete(result) && isHedge) {
+                hedgesWon.increment();
+            }
+        } catch (RuntimeException | Error e) {
+            if (pendingAttempts.decrementAndGet() == 0) {
+                winner.completeExceptionally(e);
+            }
+        }
+    }
+
+    private boolean tryConsumeCredit() {
+        long current;
+        do {
+            current = credits.get();
+            if (current < ONE_HEDGE) {
+                return false;
+            }
+        } while (!credits.compareAndSet(current, current - ONE_HEDGE));
+        return true;
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % SAMPLE_SIZE;
+        sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+
+        if (sampleCount >= MIN_SAMPLES && nextSample % RECOMPUTE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            delayNanos = Math.max(sorted[Math.max(index, 0)], minDelay.toNanos());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("product-catalog.hedge.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,44 +1,186 @@
 package com.algaworks.algashop.ordering.infrastructure.product.client.http;
 
+import com.algaworks.algashop.ordering.application.utility.Deadline;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.product.Product;
 import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import com.algaworks.algashop.ordering.domain.model.product.ProductChangedEvent;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationEvent;
+import com.algaworks.algashop.ordering.infrastructure.resilience.LastKnownGood;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegration;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegrations;
 import com.algaworks.algashop.ordering.presentation.BadGatewayException;
 import com.algaworks.algashop.ordering.presentation.GatewayTimeoutException;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Component
-@RequiredArgsConstructor
 public class ProductCatalogServiceHttpImpl implements ProductCatalogService {
 
     private final ProductCatalogAPIClient productCatalogAPIClient;
+    private final AsyncLoadingCache<ProductId, Product> cache;
+    private final ProductCatalogRequestCollapser collapser;
+    private final ProductCatalogRequestHedger hedger;
+    private final ResilientIntegration resilientIntegration;
+    private final LastKnownGood<ProductId, Product> lastKnownGood;
+    private final boolean cacheEnabled;
+    private final int maxBatchSize;
+
+    // cache assíncrono: cargas esperando a janela do collapser não bloqueiam outras chaves
+    public ProductCatalogServiceHttpImpl(
+            ProductCatalogAPIClient productCatalogAPIClient,
+            MeterRegistry meterRegistry,
+            ResilientIntegrations resilientIntegrations,
+            @Value("${algashop.integrations.product-catalog.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${algashop.integrations.product-catalog.cache.maximum-size:10000}") long maximumSize,
+            @Value("${algashop.integrations.product-catalog.cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${algashop.integrations.product-catalog.cache.refresh-after-write:1m}") Duration refreshAfterWrite,
+            @Value("${algashop.integrations.product-catalog.batch.window:5ms}") Duration batchWindow,
+            @Value("${algashop.integrations.product-catalog.batch.max-size:50}") int maxBatchSize,
+            @Value("${algashop.integrations.product-catalog.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${algashop.integrations.product-catalog.hedging.percentile:0.95}") double hedgingPercentile,
+            @Value("${algashop.integrations.product-catalog.hedging.initial-delay:200ms}") Duration hedgingInitialDelay,
+            @Value("${algashop.integrations.product-catalog.hedging.min-delay:20ms}") Duration hedgingMinDelay,
+            @Value("${algashop.integrations.product-catalog.hedging.budget:0.05}") double hedgingBudget) {
+        this.productCatalogAPIClient = productCatalogAPIClient;
+        this.resilientIntegration = resilientIntegrations.of("product-catalog");
+        this.lastKnownGood = resilientIntegration.lastKnownGood();
+        this.cacheEnabled = cacheEnabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.hedger = new ProductCatalogRequestHedger(hedgingEnabled, hedgingPercentile,
+                hedgingInitialDelay, hedgingMinDelay, hedgingBudget, meterRegistry);
+        this.collapser = new ProductCatalogRequestCollapser(this::fetchAll, batchWindow, this.maxBatchSize);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<? extends Product> asyncLoad(ProductId productId, Executor executor) {
+                        return collapser.submit(productId);
+                    }
+
+                    @Override
+                    public CompletableFuture<? extends Map<? extends ProductId, ? extends Product>> asyncLoadAll(
+                            Set<? extends ProductId> productIds, Executor executor) {
+                        // a carga em lote é desta chamada só: roda sob o prazo de quem pediu
+                        Deadline deadline = Deadline.current();
+                        return CompletableFuture.supplyAsync(
+                                () -> deadline.run(() -> fetchAll(Set.copyOf(productIds))), executor);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "product-catalog");
+    }
 
     @Override
     public Optional<Product> ofId(ProductId productId) {
-        ProductResponse productResponse;
+        if (!cacheEnabled) {
+            return Optional.ofNullable(ProductCatalogRequestCollapser.await(collapser.submit(productId)));
+        }
+        return Optional.ofNullable(ProductCatalogRequestCollapser.await(cache.get(productId)));
+    }
+
+    @Override
+    public Map<ProductId, Product> ofIds(Collection<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        if (!cacheEnabled) {
+            return fetchAll(Set.copyOf(productIds));
+        }
+        return ProductCatalogRequestCollapser.await(cache.getAll(productIds));
+    }
+
+    @EventListener
+    public void listen(ProductChangedEvent event) {
+        cache.synchronous().invalidate(event.productId());
+    }
+
+    @EventListener
+    public void listen(CacheInvalidationEvent event) {
+        if (!event.appliesTo(CacheInvalidationBus.PRODUCTS)) {
+            return;
+        }
+        if (event.isAll()) {
+            cache.synchronous().invalidateAll();
+        } else {
+            cache.synchronous().invalidate(new ProductId(UUID.fromString(event.key())));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        collapser.close();
+        hedger.close();
+    }
+
+    // produtos não encontrados ficam fora do mapa e por isso não vão para o cache
+    private Map<ProductId, Product> fetchAll(Set<ProductId> productIds) {
+        if (productIds.size() == 1) {
+            ProductId productId = productIds.iterator().next();
+            Product product = lastKnownGood.get(productId, () -> {
+                // o hedging fica dentro do circuit breaker: a dupla de tentativas conta como uma única chamada
+                ProductResponse productResponse = callCatalog(
+                        () -> hedger.call(() -> productCatalogAPIClient.getById(productId.value())));
+                return productResponse == null ? null : toProduct(productResponse);
+            });
+            return product == null ? Map.of() : Map.of(productId, product);
+        }
+
+        return lastKnownGood.getAll(productIds, () -> fetchChunks(productIds));
+    }
+
+    private Map<ProductId, Product> fetchChunks(Set<ProductId> productIds) {
+        Map<ProductId, Product> products = new HashMap<>();
+        List<UUID> ids = productIds.stream().map(ProductId::value).toList();
+        for (int start = 0; start < ids.size(); start += maxBatchSize) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + maxBatchSize, ids.size()));
+            List<ProductResponse> responses = callCatalog(() -> productCatalogAPIClient.getByIds(chunk));
+            if (responses != null) {
+                responses.forEach(response -> products.put(new ProductId(response.getId()), toProduct(response)));
+            }
+        }
+        return products;
+    }
+
+    private <T> T callCatalog(Supplier<T> call) {
         try {
-            productResponse = productCatalogAPIClient.getById(productId.value());
+            return resilientIntegration.call(call);
         } catch (ResourceAccessException e) {
             throw new GatewayTimeoutException("Product Catalog API Timeout", e);
         } catch (HttpClientErrorException.NotFound e) {
-            return Optional.empty();
-        } catch (HttpClientErrorException e) {
+            return null;
+        } catch (HttpClientErrorException | HttpServerErrorException e) {
             throw new BadGatewayException("Product Catalog API Bad Gateway", e);
         }
-        return Optional.of(
-                Product.builder()
-                        .id(new ProductId(productResponse.getId()))
-                        .name(new ProductName(productResponse.getName()))
-                        .inStock(productResponse.getInStock())
-                        .price(new Money(productResponse.getSalePrice()))
-                        .build()
-        );
+    }
+
+    private Product toProduct(ProductResponse productResponse) {
+        return Product.builder()
+                .id(new ProductId(productResponse.getId()))
+                .name(new ProductName(productResponse.getName()))
+                .inStock(productResponse.getInStock())
+                .price(new Money(productResponse.getSalePrice()))
+                .build();
     }
 }
@@ -0,0 +1,210 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.snapshot;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import com.algaworks.algashop.ordering.domain.model.product.ProductChangedEvent;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationEvent;
+import com.algaworks.algashop.ordering.infrastructure.product.client.http.ProductCatalogServiceHttpImpl;
+import com.algaworks.algashop.ordering.infrastructure.product.client.http.ProductResponse;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// produtos alterados (ProductChangedEvent) vão para o catálogo remoto até que um export mais recente seja aplicado
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "algashop.integrations.product-catalog.snapshot.enabled", havingValue = "true")
+public class ProductCatalogServiceSnapshotImpl implements ProductCatalogService {
+
+    private final ProductCatalogServiceHttpImpl remoteCatalog;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotPath;
+    private final Path exportPath;
+
+    private final AtomicReference<ProductSnapshot> snapshot = new AtomicReference<>(ProductSnapshot.empty());
+    private final Map<ProductId, Instant> changedSince = new ConcurrentHashMap<>();
+    private volatile Instant appliedExportModifiedAt = Instant.EPOCH;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    public ProductCatalogServiceSnapshotImpl(
+            ProductCatalogServiceHttpImpl remoteCatalog,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${algashop.integrations.product-catalog.snapshot.path:data/product-catalog.snapshot}") Path snapshotPath,
+            @Value("${algashop.integrations.product-catalog.snapshot.export-path:data/product-catalog-export.ndjson}") Path exportPath) {
+        this.remoteCatalog = remoteCatalog;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = snapshotPath;
+        this.exportPath = exportPath;
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.stale = lookupCounter(meterRegistry, "stale");
+        Gauge.builder("product-catalog.snapshot.size", snapshot, ref -> ref.get().size())
+                .register(meterRegistry);
+
+        openExistingSnapshot();
+    }
+
+    @Override
+    public Optional<Product> ofId(ProductId productId) {
+        Optional<Product> product = fromSnapshot(productId);
+        if (product.isPresent()) {
+            return product;
+        }
+        return remoteCatalog.ofId(productId);
+    }
+
+    @Override
+    public Map<ProductId, Product> ofIds(Collection<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<ProductId, Product> products = new HashMap<>();
+        List<ProductId> missing = new ArrayList<>();
+        for (ProductId productId : productIds) {
+            fromSnapshot(productId).ifPresentOrElse(
+                    product -> products.put(productId, product),
+                    () -> missing.add(productId));
+        }
+
+        if (!missing.isEmpty()) {
+            products.putAll(remoteCatalog.ofIds(missing));
+        }
+        return products;
+    }
+
+    @EventListener
+    public void listen(ProductChangedEvent event) {
+        changedSince.put(event.productId(), Instant.now());
+    }
+
+    // sem saber o que mudou durante uma queda do LISTEN, o snapshot segue valendo até o próximo export
+    @EventListener
+    public void listen(CacheInvalidationEvent event) {
+        if (event.appliesTo(CacheInvalidationBus.PRODUCTS) && !event.isAll()) {
+            changedSince.put(new ProductId(UUID.fromString(event.key())), Instant.now());
+        }
+    }
+
+    // a primeira execução é logo na subida: um nó sem snapshot não espera um intervalo inteiro pelo export
+    @Scheduled(fixedDelayString = "${algashop.integrations.product-catalog.snapshot.refresh-interval:5m}",
+            initialDelayString = "${algashop.integrations.product-catalog.snapshot.initial-delay:0s}")
+    public void refreshOnSchedule() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Product snapshot refresh failed; keeping the current snapshot", e);
+        }
+    }
+
+    public boolean refresh() {
+        Instant exportModifiedAt = exportModifiedAt();
+        if (exportModifiedAt == null || !exportModifiedAt.isAfter(appliedExportModifiedAt)) {
+            return false;
+        }
+
+        int written = ProductSnapshot.write(snapshotPath, readExport());
+        snapshot.set(ProductSnapshot.open(snapshotPath));
+        appliedExportModifiedAt = exportModifiedAt;
+        changedSince.values().removeIf(changedAt -> changedAt.isBefore(exportModifiedAt));
+
+        log.info("Product snapshot rebuilt with {} products", written);
+        return true;
+    }
+
+    private Optional<Product> fromSnapshot(ProductId productId) {
+        if (changedSince.containsKey(productId)) {
+            stale.increment();
+            return Optional.empty();
+        }
+        Optional<Product> product = snapshot.get().find(productId);
+        (product.isPresent() ? hits : misses).increment();
+        return product;
+    }
+
+    // um snapshot mais novo que o export é reaproveitado sem ser reconstruído na subida
+    private void openExistingSnapshot() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+        try {
+            snapshot.set(ProductSnapshot.open(snapshotPath));
+            Instant exportModifiedAt = exportModifiedAt();
+            if (exportModifiedAt != null
+                    && Files.getLastModifiedTime(snapshotPath).toInstant().isAfter(exportModifiedAt)) {
+                appliedExportModifiedAt = exportModifiedAt;
+            }
+            log.info("Product snapshot loaded with {} products", snapshot.get().size());
+        } catch (IOException e) {
+            log.warn("Could not read modification time of product snapshot {}", snapshotPath, e);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable product snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private Instant exportModifiedAt() {
+        try {
+            return Files.isRegularFile(exportPath) ? Files.getLastModifiedTime(exportPath).toInstant() : null;
+        } catch (IOException e) {
+            log.warn("Could not read product catalog export {}", exportPath, e);
+            return null;
+        }
+    }
+
+    // a última ocorrência de um produto no export prevalece
+    private Collection<Product> readExport() {
+        Map<ProductId, Product> products = new HashMap<>();
+        try (MappingIterator<ProductResponse> responses = objectMapper.readerFor(ProductResponse.class)
+                .readValues(exportPath.toFile())) {
+            while (responses.hasNext()) {
+                Product product = toProduct(responses.next());
+                products.put(product.id(), product);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read product catalog export " + exportPath, e);
+        }
+        return products.values();
+    }
+
+    private Product toProduct(ProductResponse productResponse) {
+        return Product.builder()
+                .id(new ProductId(productResponse.getId()))
+                .name(new ProductName(productResponse.getName()))
+                .inStock(productResponse.getInStock())
+                .price(new Money(productResponse.getSalePrice()))
+                .build();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("product-catalog.snapshot.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,188 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.snapshot;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// registros de tamanho fixo ordenados por ProductId (msb, lsb com sinal), para busca binária direto no mapeamento:
+// msb(8) lsb(8) preço em centavos(8) em estoque(1) reservado(1) tamanho do nome(2) nome UTF-8(100)
+final class ProductSnapshot {
+
+    static final int MAGIC = 0x50534E50;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int NAME_MAX_BYTES = 100;
+    static final int RECORD_SIZE = 28 + NAME_MAX_BYTES;
+
+    private static final int PRICE_SCALE = 2;
+    private static final int WRITE_BUFFER_RECORDS = 1024;
+    private static final byte[] NAME_PADDING = new byte[NAME_MAX_BYTES];
+    private static final ProductSnapshot EMPTY = new ProductSnapshot(ByteBuffer.allocate(0), 0);
+
+    private final ByteBuffer records;
+    private final int count;
+
+    private ProductSnapshot(ByteBuffer records, int count) {
+        this.records = records;
+        this.count = count;
+    }
+
+    static ProductSnapshot empty() {
+        return EMPTY;
+    }
+
+    static ProductSnapshot open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IllegalStateException("Invalid product snapshot " + file);
+            }
+            // o mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int magic = mapped.getInt(0);
+            int version = mapped.getInt(4);
+            int count = mapped.getInt(8);
+            int recordSize = mapped.getInt(12);
+            if (magic != MAGIC || version != FORMAT_VERSION || recordSize != RECORD_SIZE
+                    || count < 0 || fileSize != HEADER_SIZE + (long) count * RECORD_SIZE) {
+                throw new IllegalStateException("Invalid product snapshot " + file);
+            }
+            return new ProductSnapshot(mapped.slice(HEADER_SIZE, count * RECORD_SIZE), count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // grava num temporário e faz ATOMIC_MOVE: leitores nunca veem um arquivo pela metade.
+    // produtos que não cabem no registro ficam de fora e são buscados remotamente
+    static int write(Path target, Collection<Product> products) {
+        List<Product> sorted = products.stream()
+                .filter(ProductSnapshot::fits)
+                .sorted(Comparator.comparing(Product::id, ProductSnapshot::compare))
+                .toList();
+
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                            .putInt(MAGIC).putInt(FORMAT_VERSION).putInt(sorted.size()).putInt(RECORD_SIZE)
+                            .flip();
+                    writeFully(channel, header);
+
+                    ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * WRITE_BUFFER_RECORDS);
+                    for (Product product : sorted) {
+                        if (buffer.remaining() < RECORD_SIZE) {
+                            writeFully(channel, buffer.flip());
+                            buffer.clear();
+                        }
+                        putRecord(buffer, product);
+                    }
+                    writeFully(channel, buffer.flip());
+                    channel.force(true);
+                }
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return sorted.size();
+    }
+
+    int size() {
+        return count;
+    }
+
+    Optional<Product> find(ProductId productId) {
+        int index = indexOf(productId.value().getMostSignificantBits(), productId.value().getLeastSignificantBits());
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        int offset = index * RECORD_SIZE;
+        byte[] name = new byte[records.getShort(offset + 26)];
+        records.get(offset + 28, name);
+
+        return Optional.of(Product.builder()
+                .id(productId)
+                .name(new ProductName(new String(name, StandardCharsets.UTF_8)))
+                .price(new Money(BigDecimal.valueOf(records.getLong(offset + 16), PRICE_SCALE)))
+                .inStock(records.get(offset + 24) != 0)
+                .build());
+    }
+
+    // leituras absolutas não alteram a posição do buffer, então buscas concorrentes são seguras
+    private int indexOf(long msb, long lsb) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = middle * RECORD_SIZE;
+            int comparison = Long.compare(records.getLong(offset), msb);
+            if (comparison == 0) {
+                comparison = Long.compare(records.getLong(offset + 8), lsb);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean fits(Product product) {
+        if (product.name().value().getBytes(StandardCharsets.UTF_8).length > NAME_MAX_BYTES) {
+            return false;
+        }
+        return product.price().value().unscaledValue().bitLength() < Long.SIZE;
+    }
+
+    private static void putRecord(ByteBuffer buffer, Product product) {
+        byte[] name = product.name().value().getBytes(StandardCharsets.UTF_8);
+        buffer.putLong(product.id().value().getMostSignificantBits())
+                .putLong(product.id().value().getLeastSignificantBits())
+                .putLong(product.price().value().unscaledValue().longValue())
+                .put((byte) (product.inStock() ? 1 : 0))
+                .put((byte) 0)
+                .putShort((short) name.length)
+                .put(name)
+                .put(NAME_PADDING, 0, NAME_MAX_BYTES - name.length);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int compare(ProductId a, ProductId b) {
+        int comparison = Long.compare(a.value().getMostSignificantBits(), b.value().getMostSignificantBits());
+        if (comparison != 0) {
+            return comparison;
+        }
+        return Long.compare(a.value().getLeastSignificantBits(), b.value().getLeastSignificantBits());
+    }
+}
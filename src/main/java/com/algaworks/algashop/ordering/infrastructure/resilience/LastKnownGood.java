@@ -0,0 +1,92 @@
+package com.algaworks.algashop.ordering.infrastructure.resilience;
+
+import com.algaworks.algashop.ordering.presentation.BadGatewayException;
+import com.algaworks.algashop.ordering.presentation.GatewayTimeoutException;
+import com.algaworks.algashop.ordering.presentation.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// valores mais velhos que max-staleness são descartados e a falha volta a ser propagada
+@Slf4j
+public final class LastKnownGood<K, V> {
+
+    private final String name;
+    private final Cache<K, V> values;
+    private final Counter servedStale;
+    private final Counter noFallback;
+
+    LastKnownGood(String name, Duration maxStaleness, long maxEntries, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.values = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(maxStaleness)
+                .build();
+        this.servedStale = fallbackCounter(meterRegistry, name, "stale");
+        this.noFallback = fallbackCounter(meterRegistry, name, "unavailable");
+    }
+
+    // um resultado nulo (ex.: 404) não é guardado e não substitui o último valor conhecido
+    public V get(K key, Supplier<V> call) {
+        return fallbackOnFailure(key, () -> {
+            V value = call.get();
+            record(key, value);
+            return value;
+        });
+    }
+
+    // só a resposta real: se cada acerto num cache na frente regravasse o valor, a staleness nunca venceria
+    public void record(K key, V value) {
+        if (value != null) {
+            values.put(key, value);
+        }
+    }
+
+    public V fallbackOnFailure(K key, Supplier<V> call) {
+        try {
+            return call.get();
+        } catch (GatewayTimeoutException | BadGatewayException | ServiceUnavailableException e) {
+            V stale = values.getIfPresent(key);
+            if (stale == null) {
+                noFallback.increment();
+                throw e;
+            }
+            servedStale.increment();
+            log.warn("{} failed, serving last known value for {}", name, key);
+            return stale;
+        }
+    }
+
+    // o fallback só é usado se todas as chaves tiverem valor conhecido; um resultado parcial pareceria "não encontrado"
+    public Map<K, V> getAll(Collection<K> keys, Supplier<Map<K, V>> call) {
+        try {
+            Map<K, V> result = call.get();
+            values.putAll(result);
+            return result;
+        } catch (GatewayTimeoutException | BadGatewayException | ServiceUnavailableException e) {
+            Map<K, V> stale = new HashMap<>(values.getAllPresent(keys));
+            if (stale.size() < keys.size()) {
+                noFallback.increment();
+                throw e;
+            }
+            servedStale.increment();
+            log.warn("{} failed, serving last known values for {} keys", name, keys.size());
+            return stale;
+        }
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("integration.fallback")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.algaworks.algashop.ordering.infrastructure.resilience;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+// algashop.integrations.<integração>.resilience.*; os valores abaixo valem quando a propriedade não é informada
+@Data
+public class ResilienceSettings {
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 100;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    private int slidingWindowSize = 20;
+    private int minimumNumberOfCalls = 10;
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+    private int permittedCallsInHalfOpenState = 3;
+    private int maxConcurrentCalls = 25;
+    private Duration maxWaitForPermit = Duration.ZERO;
+    private Duration maxStaleness = Duration.ofHours(1);
+    private long maxStaleEntries = 10000;
+}
@@ -0,0 +1,51 @@
+package com.algaworks.algashop.ordering.infrastructure.resilience;
+
+import com.algaworks.algashop.ordering.presentation.ServiceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+public final class ResilientIntegration {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ResilienceSettings settings;
+    private final MeterRegistry meterRegistry;
+
+    ResilientIntegration(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                         ResilienceSettings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // o bulkhead fica por fora: chamadas recusadas por excesso de concorrência não contam como falha da dependência
+    public <T> T call(Supplier<T> call) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+        } catch (CallNotPermittedException e) {
+            throw new ServiceUnavailableException(name + " is unavailable (circuit open)", e);
+        } catch (BulkheadFullException e) {
+            throw new ServiceUnavailableException(name + " is unavailable (too many concurrent calls)", e);
+        }
+    }
+
+    public <K, V> LastKnownGood<K, V> lastKnownGood() {
+        return new LastKnownGood<>(name, settings.getMaxStaleness(), settings.getMaxStaleEntries(), meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+}
@@ -0,0 +1,77 @@
+package com.algaworks.algashop.ordering.infrastructure.resilience;
+
+import com.algaworks.algashop.ordering.application.utility.DeadlineExceededException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// erros 4xx não contam como falha: indicam problema na requisição, não na saúde da dependência
+@Slf4j
+@Component
+public class ResilientIntegrations {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final Map<String, ResilientIntegration> integrations = new ConcurrentHashMap<>();
+
+    public ResilientIntegrations(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public ResilientIntegration of(String name) {
+        return integrations.computeIfAbsent(name, this::create);
+    }
+
+    private ResilientIntegration create(String name) {
+        ResilienceSettings settings = Binder.get(environment)
+                .bind("algashop.integrations." + name + ".resilience", ResilienceSettings.class)
+                .orElseGet(ResilienceSettings::new);
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDuration())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .ignoreExceptions(HttpClientErrorException.class, DeadlineExceededException.class)
+                .build());
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            var transition = event.getStateTransition();
+            log.warn("Circuit breaker {} changed from {} to {}", name, transition.getFromState(), transition.getToState());
+            meterRegistry.counter("integration.circuitbreaker.transitions",
+                    "name", name,
+                    "from", transition.getFromState().name(),
+                    "to", transition.getToState().name()).increment();
+        });
+
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWaitForPermit())
+                .build());
+
+        return new ResilientIntegration(name, circuitBreaker, bulkhead, settings, meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
 
+import com.algaworks.algashop.ordering.infrastructure.http.OutboundHttpClients;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,9 +14,12 @@ public class RapidexAPIClientConfig {
     @Bean
     public RapiDexAPIClient rapidexApiClient(
             RestClient.Builder builder,
+            OutboundHttpClients outboundHttpClients,
             @Value("${algashop.integrations.rapidex.url}") String rapidexUrl) {
 
-        RestClient restClient = builder.baseUrl(rapidexUrl).build();
+        RestClient restClient = builder.baseUrl(rapidexUrl)
+                .requestFactory(outboundHttpClients.requestFactory("rapidex"))
+                .build();
         RestClientAdapter adapter = RestClientAdapter.create(restClient);
         HttpServiceProxyFactory proxyFactory = HttpServiceProxyFactory.builderFor(adapter).build();
         return proxyFactory.createClient(RapiDexAPIClient.class);
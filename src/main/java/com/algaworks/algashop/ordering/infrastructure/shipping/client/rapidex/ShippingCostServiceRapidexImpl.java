@@ -1,34 +1,95 @@
 package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
 
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
 import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
-import lombok.RequiredArgsConstructor;
+import com.algaworks.algashop.ordering.infrastructure.resilience.LastKnownGood;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegration;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegrations;
+import com.algaworks.algashop.ordering.presentation.BadGatewayException;
+import com.algaworks.algashop.ordering.presentation.GatewayTimeoutException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 @Component
-@RequiredArgsConstructor
 @ConditionalOnProperty(name = "algashop.integrations.shipping.provider", havingValue = "RAPIDEX")
 public class ShippingCostServiceRapidexImpl implements ShippingCostService {
 
     private final RapiDexAPIClient rapiDexAPIClient;
+    private final LoadingCache<QuoteKey, Quote> quotes;
+    private final ResilientIntegration resilientIntegration;
+    private final LastKnownGood<QuoteKey, Quote> lastKnownGood;
+
+    // o cache guarda o prazo em dias, e não a data, para que expectedDate continue contando a partir de hoje
+    public ShippingCostServiceRapidexImpl(
+            RapiDexAPIClient rapiDexAPIClient,
+            MeterRegistry meterRegistry,
+            ResilientIntegrations resilientIntegrations,
+            @Value("${algashop.integrations.rapidex.quote-cache.maximum-size:10000}") long maximumSize,
+            @Value("${algashop.integrations.rapidex.quote-cache.expire-after-write:1h}") Duration expireAfterWrite) {
+        this.rapiDexAPIClient = rapiDexAPIClient;
+        this.resilientIntegration = resilientIntegrations.of("rapidex");
+        this.lastKnownGood = resilientIntegration.lastKnownGood();
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(this::fetchQuote);
+        CaffeineCacheMetrics.monitor(meterRegistry, quotes, "rapidex-shipping-quotes");
+    }
 
     @Override
     public CalculationResult calculate(CalculationRequest request) {
-        DeliveryCostResponse response = rapiDexAPIClient.calculate(
-                new DeliveryCostRequest(
-                        request.origin().value(),
-                        request.destination().value()
-                )
-        );
+        // o último valor conhecido só é gravado quando a Rapidex responde (fetchQuote): um acerto no cache não renova a staleness
+        QuoteKey key = new QuoteKey(request.origin(), request.destination());
+        Quote quote = lastKnownGood.fallbackOnFailure(key, () -> quotes.get(key));
 
-        LocalDate expectedDeliveryDate = LocalDate.now().plusDays(response.getEstimatedDaysToDeliver());
+        LocalDate expectedDeliveryDate = LocalDate.now().plusDays(quote.daysToDeliver());
 
         return CalculationResult.builder()
-                .cost(new Money(response.getDeliveryCost()))
+                .cost(quote.cost())
                 .expectedDate(expectedDeliveryDate)
                 .build();
     }
+
+    private Quote fetchQuote(QuoteKey key) {
+        DeliveryCostResponse response = callRapidex(() -> rapiDexAPIClient.calculate(
+                new DeliveryCostRequest(
+                        key.origin().value(),
+                        key.destination().value()
+                )
+        ));
+        Quote quote = new Quote(new Money(response.getDeliveryCost()), response.getEstimatedDaysToDeliver());
+        lastKnownGood.record(key, quote);
+        return quote;
+    }
+
+    private <T> T callRapidex(Supplier<T> call) {
+        try {
+            return resilientIntegration.call(call);
+        } catch (ResourceAccessException e) {
+            throw new GatewayTimeoutException("Rapidex API Timeout", e);
+        } catch (HttpClientErrorException e) {
+            // 4xx é erro na requisição: propaga sem passar pelo fallback do último valor conhecido
+            throw e;
+        } catch (RestClientResponseException e) {
+            throw new BadGatewayException("Rapidex API Bad Gateway", e);
+        }
+    }
+
+    private record QuoteKey(ZipCode origin, ZipCode destination) { }
+
+    private record Quote(Money cost, long daysToDeliver) { }
 }
@@ -0,0 +1,40 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.domain.model.commons.Address;
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+// o agregado expõe acessores no estilo record (fullName(), email()...), que o MapStruct não reconhece como propriedades
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CustomerOutputMapper {
+
+    @Mapping(target = "id", expression = "java(customer.id().value())")
+    @Mapping(target = "firstName", expression = "java(customer.fullName() == null ? null : customer.fullName().firstName())")
+    @Mapping(target = "lastName", expression = "java(customer.fullName() == null ? null : customer.fullName().lastName())")
+    @Mapping(target = "email", expression = "java(customer.email() == null ? null : customer.email().value())")
+    @Mapping(target = "document", expression = "java(customer.document() == null ? null : customer.document().value())")
+    @Mapping(target = "phone", expression = "java(customer.phone() == null ? null : customer.phone().value())")
+    @Mapping(target = "birthDate", expression = "java(customer.birthDate() == null ? null : customer.birthDate().value())")
+    @Mapping(target = "loyaltyPoints", expression = "java(customer.loyaltyPoints() == null ? null : customer.loyaltyPoints().value())")
+    @Mapping(target = "registeredAt", expression = "java(customer.registeredAt())")
+    @Mapping(target = "archivedAt", expression = "java(customer.archivedAt())")
+    @Mapping(target = "promotionNotificationsAllowed", expression = "java(customer.isPromotionNotificationsAllowed())")
+    @Mapping(target = "archived", expression = "java(customer.isArchived())")
+    @Mapping(target = "address", expression = "java(toAddressData(customer.address()))")
+    CustomerOutput toCustomerOutput(Customer customer);
+
+    AddressData toAddressData(Address address);
+
+    default String zipCodeToString(ZipCode zipCode) {
+        if (zipCode == null) {
+            return null;
+        }
+        return zipCode.value();
+    }
+}
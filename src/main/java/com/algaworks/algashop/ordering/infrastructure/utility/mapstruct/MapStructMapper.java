@@ -0,0 +1,58 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartItemOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// a origem é procurada também pelas superclasses, para cobrir proxies do Hibernate
+public class MapStructMapper implements Mapper {
+
+    private final Map<Class<?>, Map<Class<?>, Function<Object, ?>>> conversions = new HashMap<>();
+
+    public MapStructMapper(OrderOutputMapper orderOutputMapper,
+                           ShoppingCartOutputMapper shoppingCartOutputMapper,
+                           CustomerOutputMapper customerOutputMapper) {
+        register(OrderPersistenceEntity.class, OrderDetailOutput.class,
+                orderOutputMapper::toOrderDetailOutput);
+        register(OrderItemPersistenceEntity.class, OrderItemDetailOutput.class,
+                orderOutputMapper::toOrderItemDetailOutput);
+        register(ShoppingCartPersistenceEntity.class, ShoppingCartOutput.class,
+                shoppingCartOutputMapper::toShoppingCartOutput);
+        register(ShoppingCartItemPersistenceEntity.class, ShoppingCartItemOutput.class,
+                shoppingCartOutputMapper::toShoppingCartItemOutput);
+        register(Customer.class, CustomerOutput.class,
+                customerOutputMapper::toCustomerOutput);
+    }
+
+    @Override
+    public <T> T convert(Object object, Class<T> destinationType) {
+        if (object == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        for (Class<?> sourceType = object.getClass(); sourceType != null; sourceType = sourceType.getSuperclass()) {
+            Map<Class<?>, Function<Object, ?>> byDestination = conversions.get(sourceType);
+            if (byDestination != null && byDestination.containsKey(destinationType)) {
+                return destinationType.cast(byDestination.get(destinationType).apply(object));
+            }
+        }
+        throw new IllegalArgumentException("No mapping from %s to %s"
+                .formatted(object.getClass().getName(), destinationType.getName()));
+    }
+
+    private <S, T> void register(Class<S> sourceType, Class<T> destinationType, Function<S, T> conversion) {
+        conversions.computeIfAbsent(sourceType, type -> new HashMap<>())
+                .put(destinationType, source -> conversion.apply(sourceType.cast(source)));
+    }
+}
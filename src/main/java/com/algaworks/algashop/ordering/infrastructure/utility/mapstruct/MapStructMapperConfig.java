@@ -0,0 +1,16 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MapStructMapperConfig {
+
+    @Bean
+    public Mapper mapper(OrderOutputMapper orderOutputMapper,
+                         ShoppingCartOutputMapper shoppingCartOutputMapper,
+                         CustomerOutputMapper customerOutputMapper) {
+        return new MapStructMapper(orderOutputMapper, shoppingCartOutputMapper, customerOutputMapper);
+    }
+}
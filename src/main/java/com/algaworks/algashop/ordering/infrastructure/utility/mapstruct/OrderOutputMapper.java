@@ -0,0 +1,42 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.order.query.*;
+import com.algaworks.algashop.ordering.infrastructure.persistence.commons.AddressEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.*;
+import io.hypersistence.tsid.TSID;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OrderOutputMapper {
+
+    @Mapping(target = "id", qualifiedByName = "tsidToString")
+    OrderDetailOutput toOrderDetailOutput(OrderPersistenceEntity entity);
+
+    @Mapping(target = "id", qualifiedByName = "tsidToString")
+    @Mapping(target = "orderId", qualifiedByName = "tsidToString")
+    OrderItemDetailOutput toOrderItemDetailOutput(OrderItemPersistenceEntity entity);
+
+    CustomerMinimalOutput toCustomerMinimalOutput(CustomerPersistenceEntity entity);
+
+    ShippingData toShippingData(ShippingEmbeddable shipping);
+
+    BillingData toBillingData(BillingEmbeddable billing);
+
+    RecipientData toRecipientData(RecipientEmbeddable recipient);
+
+    AddressData toAddressData(AddressEmbeddable address);
+
+    @Named("tsidToString")
+    default String tsidToString(Long tsid) {
+        if (tsid == null) {
+            return null;
+        }
+        return new TSID(tsid).toString();
+    }
+}
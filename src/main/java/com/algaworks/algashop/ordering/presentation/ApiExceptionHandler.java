@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.presentation;
 
+import com.algaworks.algashop.ordering.application.utility.DeadlineExceededException;
 import com.algaworks.algashop.ordering.domain.model.DomainEntityNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.DomainException;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerEmailIsInUseException;
@@ -77,8 +78,8 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
-    @ExceptionHandler(GatewayTimeoutException.class)
-    public ProblemDetail handleGatewayTimeoutException(GatewayTimeoutException e) {
+    @ExceptionHandler({GatewayTimeoutException.class, DeadlineExceededException.class})
+    public ProblemDetail handleGatewayTimeoutException(RuntimeException e) {
         log.error(e.getMessage(), e);
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.GATEWAY_TIMEOUT);
         problemDetail.setTitle("Gateway Timeout");
@@ -97,6 +98,16 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ProblemDetail handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.error(e.getMessage(), e);
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setDetail(e.getMessage());
+        problemDetail.setType(URI.create("/errors/service-unavailable"));
+        return problemDetail;
+    }
+
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleDomainException(Exception e) {
         log.error(e.getMessage(), e);
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.ordering.presentation;
 
+import com.algaworks.algashop.ordering.application.utility.CursorPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,8 +18,15 @@ import java.util.List;
 public class PageModel<T> {
     private int number;
     private int size;
-    private int totalPages;
-    private long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     @Builder.Default
     private List<T> content = new ArrayList<>();
@@ -32,4 +41,13 @@ public class PageModel<T> {
                 .build();
 
     }
+
+    public static <T> PageModel<T> of(CursorPage<T> page) {
+        return PageModel.<T>builder()
+                .content(page.getContent())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
 }
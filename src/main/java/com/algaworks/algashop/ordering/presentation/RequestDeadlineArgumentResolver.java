@@ -0,0 +1,54 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.Duration;
+
+// prazo do header X-Request-Timeout (ms) ou o padrão, limitado ao máximo. Começa a contar quando o argumento é
+// resolvido, depois de o corpo ser lido e validado, e não na chegada da requisição
+public class RequestDeadlineArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineArgumentResolver(Duration defaultTimeout, Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Deadline.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Deadline resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                    NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Duration timeout = timeoutOf(webRequest.getHeader(REQUEST_TIMEOUT_HEADER));
+        String operation = parameter.getExecutable().getDeclaringClass().getSimpleName()
+                + "." + parameter.getExecutable().getName();
+        return Deadline.after(operation, timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout);
+    }
+
+    private Duration timeoutOf(String header) {
+        if (header == null || header.isBlank()) {
+            return defaultTimeout;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis <= 0) {
+                throw new UnprocessableEntityException(REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds");
+            }
+            return Duration.ofMillis(millis);
+        } catch (NumberFormatException e) {
+            throw new UnprocessableEntityException(REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds", e);
+        }
+    }
+}
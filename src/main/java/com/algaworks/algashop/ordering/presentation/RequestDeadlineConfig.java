@@ -0,0 +1,27 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class RequestDeadlineConfig implements WebMvcConfigurer {
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineConfig(@Value("${algashop.deadline.default:5s}") Duration defaultTimeout,
+                                 @Value("${algashop.deadline.max:30s}") Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new RequestDeadlineArgumentResolver(defaultTimeout, maxTimeout));
+    }
+}
@@ -34,12 +34,12 @@ public class CustomerController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CustomerOutput create(@RequestBody @Valid CustomerInput input, HttpServletResponse httpServletResponse) {
-        UUID customerId = customerManagementApplicationService.create(input);
+        CustomerOutput customer = customerManagementApplicationService.create(input);
 
-        UriComponentsBuilder builder = fromMethodCall(on(CustomerController.class).findById(customerId));
+        UriComponentsBuilder builder = fromMethodCall(on(CustomerController.class).findById(customer.getId()));
         httpServletResponse.addHeader("Location", builder.toUriString());
 
-        return customerQueryService.findById(customerId);
+        return customer;
     }
 
     @GetMapping
@@ -60,8 +60,7 @@ public class CustomerController {
     @PutMapping("/{customerId}")
     public CustomerOutput update(@PathVariable UUID customerId,
                                  @RequestBody @Valid CustomerUpdateInput input) {
-        customerManagementApplicationService.update(customerId, input);
-        return customerQueryService.findById(customerId);
+        return customerManagementApplicationService.update(customerId, input);
     }
 
     @DeleteMapping("/{customerId}")
@@ -4,10 +4,14 @@ import com.algaworks.algashop.ordering.application.checkout.BuyNowApplicationSer
 import com.algaworks.algashop.ordering.application.checkout.BuyNowInput;
 import com.algaworks.algashop.ordering.application.checkout.CheckoutApplicationService;
 import com.algaworks.algashop.ordering.application.checkout.CheckoutInput;
+import com.algaworks.algashop.ordering.application.order.management.OrderManagementApplicationService;
+import com.algaworks.algashop.ordering.application.order.management.OrderStatusBatchInput;
+import com.algaworks.algashop.ordering.application.order.management.OrderStatusBatchOutput;
 import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
 import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
 import com.algaworks.algashop.ordering.application.order.query.OrderQueryService;
 import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+import com.algaworks.algashop.ordering.application.utility.Deadline;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.product.ProductNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartNotFoundException;
@@ -26,6 +30,7 @@ public class OrderController {
     private final OrderQueryService orderQueryService;
     private final CheckoutApplicationService checkoutApplicationService;
     private final BuyNowApplicationService buyNowApplicationService;
+    private final OrderManagementApplicationService orderManagementApplicationService;
 
     @GetMapping("/{orderId}")
     public OrderDetailOutput findById(@PathVariable String orderId) {
@@ -34,31 +39,35 @@ public class OrderController {
 
     @GetMapping
     public PageModel<OrderSummaryOutput> filter(OrderFilter filter) {
+        if (filter.isKeysetPagination()) {
+            return PageModel.of(orderQueryService.filterAfter(filter));
+        }
         return PageModel.of(orderQueryService.filter(filter));
     }
 
     @PostMapping(consumes = "application/vnd.order-with-product.v1+json")
     @ResponseStatus(HttpStatus.CREATED)
-    public OrderDetailOutput createWithProduct(@Valid @RequestBody BuyNowInput input) {
-        String orderId;
+    public OrderDetailOutput createWithProduct(@Valid @RequestBody BuyNowInput input, Deadline deadline) {
         try {
-            orderId = buyNowApplicationService.buyNow(input);
+            return buyNowApplicationService.buyNow(input, deadline);
         } catch (CustomerNotFoundException | ProductNotFoundException e) {
             throw new UnprocessableEntityException(e.getMessage(), e);
         }
-        return orderQueryService.findById(orderId);
     }
 
     @PostMapping(consumes = "application/vnd.order-with-shopping-cart.v1+json")
     @ResponseStatus(HttpStatus.CREATED)
-    public OrderDetailOutput createWithShoppingCart(@Valid @RequestBody CheckoutInput input) {
-        String orderId;
+    public OrderDetailOutput createWithShoppingCart(@Valid @RequestBody CheckoutInput input, Deadline deadline) {
         try {
-            orderId = checkoutApplicationService.checkout(input);
+            return checkoutApplicationService.checkout(input, deadline);
         } catch (CustomerNotFoundException | ShoppingCartNotFoundException e) {
             throw new UnprocessableEntityException(e.getMessage(), e);
         }
-        return orderQueryService.findById(orderId);
+    }
+
+    @PostMapping("/status-changes")
+    public OrderStatusBatchOutput changeStatus(@Valid @RequestBody OrderStatusBatchInput input) {
+        return orderManagementApplicationService.changeStatus(input);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.algaworks.algashop.ordering.presentation.shoppingcart;
+
+import com.algaworks.algashop.ordering.application.shoppingcart.management.ProductAdjustmentApplicationService;
+import com.algaworks.algashop.ordering.application.shoppingcart.management.ProductAdjustmentImportOutput;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/product-adjustments")
+@RequiredArgsConstructor
+public class ProductAdjustmentController {
+
+	private final ProductAdjustmentApplicationService productAdjustmentApplicationService;
+
+	@PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ProductAdjustmentImportOutput importAdjustments(InputStream body) throws IOException {
+		try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			return productAdjustmentApplicationService.importAdjustments(reader.lines());
+		}
+	}
+}
@@ -25,13 +25,11 @@ public class ShoppingCartController {
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
 	public ShoppingCartOutput create(@RequestBody @Valid ShoppingCartInput input) {
-        UUID shoppingCartId = null;
         try {
-            shoppingCartId = managementService.createNew(input.getCustomerId());
+            return managementService.createNew(input.getCustomerId());
         } catch (CustomerNotFoundException e) {
             throw new UnprocessableEntityException(e.getMessage(), e);
         }
-        return queryService.findById(shoppingCartId);
 	}
 
 	@GetMapping("/{shoppingCartId}")
@@ -0,0 +1 @@
+create index idx_order_placed_at_id on public."order" (placed_at, id);
@@ -0,0 +1,9 @@
+create table public.customer_sales_stats (
+    customer_id uuid not null,
+    year integer not null,
+    paid_count bigint not null default 0,
+    paid_amount numeric(38,2) not null default 0,
+    primary key (customer_id, year)
+);
+
+alter table public.customer_sales_stats add constraint fk_customer_sales_stats_customer_id foreign key (customer_id) references public.customer(id);
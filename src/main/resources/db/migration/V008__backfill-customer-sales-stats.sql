@@ -0,0 +1,13 @@
+insert into public.customer_sales_stats (customer_id, year, paid_count, paid_amount)
+select o.customer_id,
+       extract(year from o.placed_at at time zone 'UTC')::integer,
+       count(*),
+       coalesce(sum(o.total_amount), 0)
+from public."order" o
+where o.paid_at is not null
+  and o.canceled_at is null
+  and o.placed_at is not null
+group by o.customer_id, extract(year from o.placed_at at time zone 'UTC')
+on conflict (customer_id, year) do update set
+    paid_count = excluded.paid_count,
+    paid_amount = excluded.paid_amount;
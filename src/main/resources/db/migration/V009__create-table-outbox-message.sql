@@ -0,0 +1,14 @@
+create table public.outbox_message (
+    id bigserial primary key,
+    event_type varchar(255) not null,
+    payload jsonb not null,
+    occurred_at timestamp with time zone not null,
+    status varchar(20) not null,
+    attempts integer not null default 0,
+    available_at timestamp with time zone not null,
+    processed_at timestamp with time zone,
+    last_error varchar(1000)
+);
+
+create index idx_outbox_message_pending on public.outbox_message (available_at, id) where status = 'PENDING';
+create index idx_outbox_message_processed_at on public.outbox_message (processed_at) where status = 'PROCESSED';
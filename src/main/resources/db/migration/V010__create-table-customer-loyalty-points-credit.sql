@@ -0,0 +1,10 @@
+create table public.customer_loyalty_points_credit (
+    order_id bigint not null,
+    customer_id uuid not null,
+    points integer not null,
+    credited_at timestamp with time zone not null,
+    primary key (order_id)
+);
+
+alter table public.customer_loyalty_points_credit add constraint fk_customer_loyalty_points_credit_order_id foreign key (order_id) references public."order"(id);
+alter table public.customer_loyalty_points_credit add constraint fk_customer_loyalty_points_credit_customer_id foreign key (customer_id) references public.customer(id);
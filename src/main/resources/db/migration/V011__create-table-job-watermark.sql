@@ -0,0 +1,13 @@
+create table public.job_watermark (
+    name varchar(100) not null,
+    last_processed_at timestamp with time zone not null,
+    last_processed_id bigint not null,
+    updated_at timestamp with time zone not null,
+    primary key (name)
+);
+
+-- pedidos que ficaram READY antes desta migração já foram creditados pelo listener
+insert into public.job_watermark (name, last_processed_at, last_processed_id, updated_at)
+values ('loyalty-points-accrual', now(), 0, now());
+
+create index idx_order_ready_at_id on public."order" (ready_at, id) where ready_at is not null;
@@ -0,0 +1,11 @@
+create index idx_shopping_cart_item_product_id on public.shopping_cart_item (product_id);
+
+-- área de carga da ingestão em lote de preços/disponibilidade; as linhas vivem só durante uma importação
+create unlogged table public.product_adjustment_staging (
+    import_id uuid not null,
+    line bigint not null,
+    product_id uuid not null,
+    price numeric(38,2),
+    available boolean,
+    primary key (import_id, line)
+);
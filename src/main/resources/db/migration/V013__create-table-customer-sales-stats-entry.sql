@@ -0,0 +1,10 @@
+create table public.customer_sales_stats_entry (
+    order_id bigint not null,
+    kind varchar(20) not null,
+    recorded_at timestamp with time zone not null,
+    primary key (order_id, kind)
+);
+
+alter table public.customer_sales_stats_entry add constraint fk_customer_sales_stats_entry_order_id foreign key (order_id) references public."order"(id);
+
+-- sem backfill: eventos já processados não são reentregues, e os pendentes ainda não foram contabilizados
@@ -0,0 +1,6 @@
+alter table public.job_watermark add column floor_at timestamp with time zone;
+
+-- pedidos READY antes deste ponto foram creditados pelo listener sem linha em customer_loyalty_points_credit
+update public.job_watermark set floor_at = now();
+
+alter table public.job_watermark alter column floor_at set not null;
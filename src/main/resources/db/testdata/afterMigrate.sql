@@ -1,7 +1,9 @@
 set session_replication_role = 'replica';
 
 delete from order_item;
+delete from customer_sales_stats_entry;
 delete from "order";
+delete from customer_sales_stats;
 delete from shopping_cart_item;
 delete from shopping_cart;
 delete from customer;
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderQueryService;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
@@ -18,6 +20,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 
@@ -34,6 +37,9 @@ class BuyNowApplicationServiceIT {
     @Autowired
     private Customers customers;
 
+    @Autowired
+    private OrderQueryService orderQueryService;
+
     @MockitoBean
     private ProductCatalogService productCatalogService;
 
@@ -60,10 +66,36 @@ class BuyNowApplicationServiceIT {
 
         BuyNowInput input = BuyNowInputTestDataBuilder.aBuyNowInput().build();
 
-        String orderId = buyNowApplicationService.buyNow(input);
+        OrderDetailOutput output = buyNowApplicationService.buyNow(input);
+
+        Assertions.assertThat(output.getId()).isNotBlank();
+        Assertions.assertThat(orders.exists(new OrderId(output.getId()))).isTrue();
+    }
+
+    @Test
+    void shouldReturnSameDetailAsQuery() {
+        Product product = ProductTestDataBuilder.aProduct().build();
+        Mockito.when(productCatalogService.ofId(product.id())).thenReturn(Optional.of(product));
+
+        Mockito.when(shippingCostService.calculate(Mockito.any(ShippingCostService.CalculationRequest.class)))
+                .thenReturn(new ShippingCostService.CalculationResult(
+                        new Money("10.00"),
+                        LocalDate.now().plusDays(3)
+                ));
+
+        BuyNowInput input = BuyNowInputTestDataBuilder.aBuyNowInput().build();
+
+        OrderDetailOutput output = buyNowApplicationService.buyNow(input);
+
+        OrderDetailOutput persisted = orderQueryService.findById(output.getId());
 
-        Assertions.assertThat(orderId).isNotBlank();
-        Assertions.assertThat(orders.exists(new OrderId(orderId))).isTrue();
+        // o banco trunca a precisão do placedAt
+        Assertions.assertThat(output)
+                .usingRecursiveComparison()
+                .ignoringFields("placedAt")
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(persisted);
+        Assertions.assertThat(output.getPlacedAt()).isNotNull();
     }
 
 }
\ No newline at end of file
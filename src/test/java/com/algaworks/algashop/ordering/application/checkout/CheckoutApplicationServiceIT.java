@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
@@ -81,9 +82,12 @@ class CheckoutApplicationServiceIT {
                 .build();
 
 
-        String orderId = service.checkout(input);
+        OrderDetailOutput output = service.checkout(input);
+        String orderId = output.getId();
 
         Assertions.assertThat(orderId).isNotBlank();
+        Assertions.assertThat(output.getStatus()).isEqualTo(OrderStatus.PLACED.name());
+        Assertions.assertThat(output.getItems()).hasSize(1);
         Assertions.assertThat(orders.exists(new OrderId(orderId))).isTrue();
 
         Optional<Order> createdOrder = orders.ofId(new OrderId(orderId));
@@ -61,6 +61,33 @@ class CustomerLoyaltyPointsApplicationServiceIT {
         Assertions.assertThat(updatedCustomer.loyaltyPoints()).isEqualTo(new LoyaltyPoints(10));
     }
 
+    @Test
+    void shouldNotCreditLoyaltyPointsTwiceForTheSameOrder() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        Order order = OrderTestDataBuilder.anOrder()
+                .customerId(customer.id())
+                .status(OrderStatus.DRAFT)
+                .withItems(false)
+                .build();
+        Product product = ProductTestDataBuilder.aProduct().price(new Money("2500")).build();
+
+        order.addItem(product, new Quantity(1));
+        order.place();
+        order.markAsPaid();
+        order.markAsReady();
+
+        orders.add(order);
+
+        loyaltyPointsService.addLoyaltyPoints(customer.id().value(), order.id().toString());
+        loyaltyPointsService.addLoyaltyPoints(customer.id().value(), order.id().toString());
+
+        Customer updatedCustomer = customers.ofId(customer.id()).orElseThrow();
+        Assertions.assertThat(updatedCustomer.loyaltyPoints()).isEqualTo(new LoyaltyPoints(10));
+        Assertions.assertThat(updatedCustomer.version()).isGreaterThan(customer.version());
+    }
+
     @Test
     void shouldThrowCustomerNotFoundExceptionWhenCustomerIdDoesNotExist() {
         UUID nonExistingCustomerId = UUID.randomUUID();
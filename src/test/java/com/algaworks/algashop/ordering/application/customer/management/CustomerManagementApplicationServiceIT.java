@@ -65,7 +65,7 @@ class CustomerManagementApplicationServiceIT {
     void shouldRegister() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
 
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
         Assertions.assertThat(customerId).isNotNull();
 
         CustomerOutput customerOutput = customerQueryService.findById(customerId);
@@ -102,13 +102,18 @@ class CustomerManagementApplicationServiceIT {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
         CustomerUpdateInput updateInput = CustomerUpdateInputTestDataBuilder.aCustomerUpdate().build();
 
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
         Assertions.assertThat(customerId).isNotNull();
 
-        customerManagementApplicationService.update(customerId, updateInput);
+        CustomerOutput updatedOutput = customerManagementApplicationService.update(customerId, updateInput);
 
         CustomerOutput customerOutput = customerQueryService.findById(customerId);
 
+        Assertions.assertThat(updatedOutput)
+                .usingRecursiveComparison()
+                .ignoringFields("registeredAt")
+                .isEqualTo(customerOutput);
+
         Assertions.assertThat(customerOutput)
                 .extracting(
                         CustomerOutput::getId,
@@ -130,7 +135,7 @@ class CustomerManagementApplicationServiceIT {
     @Test
     void shouldArchiveCustomer() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
         Assertions.assertThat(customerId).isNotNull();
 
         customerManagementApplicationService.archive(customerId);
@@ -175,7 +180,7 @@ class CustomerManagementApplicationServiceIT {
     @Test
     void shouldThrowCustomerArchivedExceptionWhenArchivingAlreadyArchivedCustomer() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
         Assertions.assertThat(customerId).isNotNull();
 
         customerManagementApplicationService.archive(customerId);
@@ -187,7 +192,7 @@ class CustomerManagementApplicationServiceIT {
     @Test
     void shouldChangeEmailSuccessfully() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
 
         Assertions.assertThat(customerId).isNotNull();
 
@@ -211,7 +216,7 @@ class CustomerManagementApplicationServiceIT {
     @Test
     void shouldThrowCustomerArchivedExceptionWhenChangingEmailOfArchivedCustomer() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
 
         Assertions.assertThat(customerId).isNotNull();
 
@@ -226,7 +231,7 @@ class CustomerManagementApplicationServiceIT {
     @Test
     void shouldThrowIllegalArgumentExceptionWhenChangingEmailToInvalidFormat() {
         CustomerInput input = CustomerInputTestDataBuilder.aCustomer().build();
-        UUID customerId = customerManagementApplicationService.create(input);
+        UUID customerId = customerManagementApplicationService.create(input).getId();
 
         Assertions.assertThat(customerId).isNotNull();
 
@@ -240,11 +245,11 @@ class CustomerManagementApplicationServiceIT {
     void shouldThrowCustomerEmailAlreadyExistsExceptionWhenChangingEmailToExistingEmail() {
         CustomerInput input1 = CustomerInputTestDataBuilder.aCustomer()
                 .email("existing.email@email.com").build();
-        UUID customerId1 = customerManagementApplicationService.create(input1);
+        UUID customerId1 = customerManagementApplicationService.create(input1).getId();
         Assertions.assertThat(customerId1).isNotNull();
         CustomerInput input2 = CustomerInputTestDataBuilder.aCustomer()
                 .email("existing.email2@email.com").build();
-        UUID customerId2 = customerManagementApplicationService.create(input2);
+        UUID customerId2 = customerManagementApplicationService.create(input2).getId();
         Assertions.assertThat(customerId2).isNotNull();
         Assertions.assertThatExceptionOfType(CustomerEmailIsInUseException.class)
                 .isThrownBy(() -> customerManagementApplicationService.changeEmail(customerId1, "existing.email2@email.com"));
@@ -15,6 +15,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -92,6 +93,19 @@ class OrderManagementApplicationServiceIT {
         Mockito.verify(orderEventListener).listen(Mockito.any(OrderPaidEvent.class));
     }
 
+    @Test
+    void shouldIncrementVersionWhenChangingStatus() {
+        Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+        orders.add(order);
+        Long versionBeforeChange = order.version();
+
+        service.markAsPaid(order.id().toString());
+
+        Order updatedOrder = orders.ofId(order.id()).orElseThrow();
+        Assertions.assertThat(updatedOrder.version()).isEqualTo(versionBeforeChange + 1);
+        Assertions.assertThat(updatedOrder.items()).hasSameSizeAs(order.items());
+    }
+
     @Test
     void shouldThrowOrderNotFoundExceptionWhenMarkingNonExistingOrderAsPaid() {
         String nonExistingOrderId = new OrderId().toString();
@@ -162,4 +176,39 @@ class OrderManagementApplicationServiceIT {
         Assertions.assertThatExceptionOfType(OrderStatusCannotBeChangedException.class)
                 .isThrownBy(() -> service.markAsReady(order.id().toString()));
     }
+
+    @Test
+    void shouldChangeStatusInBatchReportingEachOrder() {
+        Order placedOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+        Order otherPlacedOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+        Order canceledOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.CANCELED).build();
+        orders.add(placedOrder);
+        orders.add(otherPlacedOrder);
+        orders.add(canceledOrder);
+
+        String nonExistingOrderId = new OrderId().toString();
+
+        OrderStatusBatchOutput output = service.changeStatus(OrderStatusBatchInput.builder()
+                .orderIds(List.of(
+                        placedOrder.id().toString(),
+                        otherPlacedOrder.id().toString(),
+                        canceledOrder.id().toString(),
+                        nonExistingOrderId,
+                        "invalid-id"
+                ))
+                .status(OrderStatus.PAID.name())
+                .build());
+
+        Assertions.assertThat(output.getChanged()).isEqualTo(2);
+        Assertions.assertThat(output.getFailed()).isEqualTo(3);
+        Assertions.assertThat(output.getResults())
+                .filteredOn(OrderStatusChangeOutput::isChanged)
+                .extracting(OrderStatusChangeOutput::getOrderId)
+                .containsExactlyInAnyOrder(placedOrder.id().toString(), otherPlacedOrder.id().toString());
+
+        Assertions.assertThat(orders.ofId(placedOrder.id()).orElseThrow().status()).isEqualTo(OrderStatus.PAID);
+        Assertions.assertThat(orders.ofId(canceledOrder.id()).orElseThrow().status()).isEqualTo(OrderStatus.CANCELED);
+
+        Mockito.verify(orderEventListener, Mockito.times(2)).listen(Mockito.any(OrderPaidEvent.class));
+    }
 }
\ No newline at end of file
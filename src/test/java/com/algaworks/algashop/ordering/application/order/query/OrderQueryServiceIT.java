@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.application.order.query;
 
+import com.algaworks.algashop.ordering.application.utility.CursorPage;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
@@ -16,6 +17,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SpringBootTest
 @Transactional
 class OrderQueryServiceIT {
@@ -49,6 +53,58 @@ class OrderQueryServiceIT {
                 );
     }
 
+    @Test
+    void shouldFindByIdWithCustomerShippingBillingAndItems() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customers.add(customer);
+
+        Order order = OrderTestDataBuilder.anOrder().customerId(customer.id()).build();
+        orders.add(order);
+
+        OrderDetailOutput output = queryService.findById(order.id().toString());
+
+        Assertions.assertThat(output.getCustomer().getId()).isEqualTo(customer.id().value());
+        Assertions.assertThat(output.getStatus()).isEqualTo(order.status().name());
+        Assertions.assertThat(output.getShipping().getAddress().getZipCode())
+                .isEqualTo(order.shipping().address().zipCode().value());
+        Assertions.assertThat(output.getShipping().getRecipient().getFirstName())
+                .isEqualTo(order.shipping().recipient().fullName().firstName());
+        Assertions.assertThat(output.getBilling().getEmail()).isEqualTo(order.billing().email().value());
+        Assertions.assertThat(output.getItems()).hasSize(order.items().size());
+        Assertions.assertThat(output.getItems())
+                .extracting(OrderItemDetailOutput::getOrderId)
+                .containsOnly(output.getId());
+    }
+
+    @Test
+    void shouldFindByIdWithoutItems() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customers.add(customer);
+
+        Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.DRAFT).withItems(false)
+                .customerId(customer.id()).build();
+        orders.add(order);
+
+        OrderDetailOutput output = queryService.findById(order.id().toString());
+
+        Assertions.assertThat(output.getId()).isEqualTo(order.id().toString());
+        Assertions.assertThat(output.getItems()).isEmpty();
+    }
+
+    @Test
+    void shouldFindDraftWithoutShippingAndBilling() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customers.add(customer);
+
+        Order order = Order.draft(customer.id());
+        orders.add(order);
+
+        OrderDetailOutput output = queryService.findById(order.id().toString());
+
+        Assertions.assertThat(output.getShipping()).isNull();
+        Assertions.assertThat(output.getBilling()).isNull();
+    }
+
     @Test
     void shouldFilterByPage() {
         Customer customer = CustomerTestDataBuilder.existingCustomer().build();
@@ -166,4 +222,60 @@ class OrderQueryServiceIT {
         Assertions.assertThat(page.getContent().getFirst().getStatus()).isEqualTo(OrderStatus.CANCELED.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldFilterByKeysetWalkingAllPages() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customers.add(customer);
+
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.DRAFT).withItems(false).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.READY).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.CANCELED).customerId(customer.id()).build());
+
+        OrderFilter filter = new OrderFilter(2, 0);
+        filter.setKeyset(true);
+
+        List<String> ids = new ArrayList<>();
+        CursorPage<OrderSummaryOutput> page;
+        do {
+            page = queryService.filterAfter(filter);
+            page.getContent().forEach(o -> ids.add(o.getId()));
+            filter.setAfter(page.getNextCursor());
+        } while (page.hasNext());
+
+        Assertions.assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+        Assertions.assertThat(page.getTotalElements()).isNull();
+    }
+
+    @Test
+    void shouldFilterByKeysetDescendingByStatusWithTotal() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customers.add(customer);
+
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).customerId(customer.id()).build());
+        orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.READY).customerId(customer.id()).build());
+
+        OrderFilter filter = new OrderFilter(2, 0);
+        filter.setKeyset(true);
+        filter.setWithTotal(true);
+        filter.setSortByProperty(OrderFilter.SortType.STATUS);
+        filter.setSortDirection(Sort.Direction.DESC);
+
+        CursorPage<OrderSummaryOutput> firstPage = queryService.filterAfter(filter);
+
+        Assertions.assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(firstPage.getContent()).hasSize(2);
+        Assertions.assertThat(firstPage.getContent().getFirst().getStatus()).isEqualTo(OrderStatus.READY.toString());
+        Assertions.assertThat(firstPage.getNextCursor()).isNotNull();
+
+        filter.setAfter(firstPage.getNextCursor());
+        CursorPage<OrderSummaryOutput> secondPage = queryService.filterAfter(filter);
+
+        Assertions.assertThat(secondPage.getContent()).hasSize(1);
+        Assertions.assertThat(secondPage.getContent().getFirst().getStatus()).isEqualTo(OrderStatus.PLACED.toString());
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.algaworks.algashop.ordering.application.shoppingcart.management;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustment;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustmentSummary;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductAdjustmentApplicationServiceTest {
+
+    private final ShoppingCartProductAdjustmentService shoppingCartProductAdjustmentService =
+            Mockito.mock(ShoppingCartProductAdjustmentService.class);
+
+    private final ProductAdjustmentApplicationService service =
+            new ProductAdjustmentApplicationService(shoppingCartProductAdjustmentService, new ObjectMapper());
+
+    private final List<ProductAdjustment> adjusted = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Mockito.when(shoppingCartProductAdjustmentService.adjustAll(Mockito.any())).thenAnswer(invocation -> {
+            ((Stream<ProductAdjustment>) invocation.getArgument(0)).forEach(adjusted::add);
+            return new ProductAdjustmentSummary(adjusted.size(), 3, 2);
+        });
+    }
+
+    @Test
+    void shouldAdjustValidLinesAndReportInvalidOnesByLineNumber() {
+        UUID priceProductId = UUID.randomUUID();
+        UUID availabilityProductId = UUID.randomUUID();
+
+        ProductAdjustmentImportOutput output = service.importAdjustments(Stream.of(
+                "{\"productId\":\"" + priceProductId + "\",\"price\":10.50}",
+                "",
+                "   ",
+                "{\"productId\":\"" + availabilityProductId + "\",\"available\":false}",
+                "{not json",
+                "{\"price\":5}",
+                "{\"productId\":\"" + UUID.randomUUID() + "\"}",
+                "{\"productId\":\"" + UUID.randomUUID() + "\",\"price\":-1}"
+        ));
+
+        assertThat(output.getReceived()).isEqualTo(6);
+        assertThat(output.getAccepted()).isEqualTo(2);
+        assertThat(output.getRejected()).isEqualTo(4);
+        assertThat(output.getAdjustedProducts()).isEqualTo(2);
+        assertThat(output.getUpdatedItems()).isEqualTo(3);
+        assertThat(output.getUpdatedShoppingCarts()).isEqualTo(2);
+        assertThat(output.getErrors()).containsExactly(
+                new ProductAdjustmentErrorOutput(5L, "Malformed JSON"),
+                new ProductAdjustmentErrorOutput(6L, "productId is required"),
+                new ProductAdjustmentErrorOutput(7L, "price or available is required"),
+                new ProductAdjustmentErrorOutput(8L, "price must not be negative")
+        );
+
+        assertThat(adjusted).containsExactly(
+                new ProductAdjustment(new ProductId(priceProductId), new Money("10.50"), null),
+                new ProductAdjustment(new ProductId(availabilityProductId), null, false)
+        );
+    }
+
+    @Test
+    void shouldCountEveryRejectionButReportOnlyTheFirstHundred() {
+        Stream<String> lines = IntStream.rangeClosed(1, 150).mapToObj(i -> "{\"price\":1}");
+
+        ProductAdjustmentImportOutput output = service.importAdjustments(lines);
+
+        assertThat(output.getReceived()).isEqualTo(150);
+        assertThat(output.getAccepted()).isZero();
+        assertThat(output.getRejected()).isEqualTo(150);
+        assertThat(output.getErrors()).hasSize(100);
+        assertThat(output.getErrors().getLast().getLine()).isEqualTo(100);
+        assertThat(adjusted).isEmpty();
+    }
+}
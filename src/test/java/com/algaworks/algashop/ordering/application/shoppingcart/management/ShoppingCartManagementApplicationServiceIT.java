@@ -41,7 +41,7 @@ class ShoppingCartManagementApplicationServiceIT {
         Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
         customers.add(customer);
 
-        UUID newShoppingCartId = service.createNew(customer.id().value());
+        UUID newShoppingCartId = service.createNew(customer.id().value()).getId();
 
         Assertions.assertThat(newShoppingCartId).isNotNull();
         Optional<ShoppingCart> createdCart = shoppingCarts.ofId(new com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId(newShoppingCartId));
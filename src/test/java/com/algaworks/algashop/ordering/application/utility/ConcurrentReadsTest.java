@@ -0,0 +1,93 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ConcurrentReadsTest {
+
+    @Test
+    void shouldRunForksConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (var reads = new ConcurrentReads()) {
+            var first = reads.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? "first" : null;
+            });
+            var second = reads.fork(() -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS) ? "second" : null;
+            });
+
+            reads.join();
+
+            Assertions.assertThat(first.get()).isEqualTo("first");
+            Assertions.assertThat(second.get()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void shouldCancelRemainingForksWhenOneFails() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowFinished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+
+        try (var reads = new ConcurrentReads()) {
+            reads.fork(() -> {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                } finally {
+                    slowFinished.countDown();
+                }
+                return null;
+            });
+            reads.fork(() -> {
+                slowStarted.await();
+                throw new IllegalStateException("boom");
+            });
+
+            Assertions.assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(reads::join)
+                    .withMessage("boom");
+        }
+
+        Assertions.assertThat(slowFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void shouldNotExposeResultBeforeJoin() {
+        try (var reads = new ConcurrentReads()) {
+            var result = reads.fork(() -> "value");
+
+            Assertions.assertThatIllegalStateException().isThrownBy(result::get);
+        }
+    }
+
+    @Test
+    void shouldPropagateDeadlineAndStopWaitingWhenItExpires() {
+        Deadline deadline = Deadline.after("checkout", Duration.ofMillis(100));
+
+        deadline.run(() -> {
+            try (var reads = new ConcurrentReads()) {
+                var seen = reads.fork(Deadline::current);
+                reads.fork(() -> {
+                    Thread.sleep(10_000);
+                    return null;
+                });
+
+                Assertions.assertThatExceptionOfType(DeadlineExceededException.class).isThrownBy(reads::join);
+                Assertions.assertThat(seen.get()).isSameAs(deadline);
+            }
+            return null;
+        });
+    }
+}
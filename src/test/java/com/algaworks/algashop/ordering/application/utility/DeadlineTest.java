@@ -0,0 +1,62 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class DeadlineTest {
+
+    @Test
+    void shouldBeCurrentOnlyWhileRunning() {
+        Deadline deadline = Deadline.after("checkout", Duration.ofSeconds(5));
+
+        Deadline seen = deadline.run(Deadline::current);
+
+        Assertions.assertThat(seen).isSameAs(deadline);
+        Assertions.assertThat(Deadline.current().isBounded()).isFalse();
+    }
+
+    @Test
+    void shouldLimitTimeoutToRemainingBudget() {
+        Deadline deadline = Deadline.after("checkout", Duration.ofMillis(500));
+
+        Assertions.assertThat(deadline.limit(Duration.ofSeconds(3))).isLessThanOrEqualTo(Duration.ofMillis(500));
+        Assertions.assertThat(deadline.limit(Duration.ofMillis(100))).isEqualTo(Duration.ofMillis(100));
+        Assertions.assertThat(Deadline.none().limit(Duration.ofSeconds(3))).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void shouldAbandonWorkAtCheckpointWhenExpired() throws InterruptedException {
+        Deadline deadline = Deadline.after("checkout", Duration.ofMillis(10));
+        Thread.sleep(30);
+
+        Assertions.assertThat(deadline.isExpired()).isTrue();
+        Assertions.assertThatExceptionOfType(DeadlineExceededException.class)
+                .isThrownBy(() -> deadline.checkpoint("shipping quote"));
+    }
+
+    @Test
+    void shouldPassCheckpointWithinBudget() {
+        Deadline deadline = Deadline.after("checkout", Duration.ofSeconds(5));
+
+        Assertions.assertThatNoException().isThrownBy(() -> deadline.checkpoint("shipping quote"));
+        Assertions.assertThatNoException().isThrownBy(() -> Deadline.none().checkpoint("shipping quote"));
+    }
+
+    @Test
+    void shouldPickDeadlineThatExpiresLast() {
+        Deadline shorter = Deadline.after("checkout", Duration.ofMillis(500));
+        Deadline longer = Deadline.after("buy-now", Duration.ofSeconds(5));
+
+        Assertions.assertThat(Deadline.latest(shorter, longer)).isSameAs(longer);
+        Assertions.assertThat(Deadline.latest(longer, shorter)).isSameAs(longer);
+        Assertions.assertThat(Deadline.latest(shorter, Deadline.none()).isBounded()).isFalse();
+    }
+
+    @Test
+    void shouldRejectNonPositiveBudget() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> Deadline.after("checkout", Duration.ZERO));
+    }
+}
@@ -0,0 +1,187 @@
+package com.algaworks.algashop.ordering.benchmark;
+
+import com.algaworks.algashop.ordering.application.checkout.CheckoutInput;
+import com.algaworks.algashop.ordering.application.checkout.CheckoutInputTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.customer.Customers;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCarts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/*
+ * Dispara checkouts concorrentes pela API, com a Rapidex respondendo com latência fixa, e imprime vazão e latência.
+ * As subclasses só mudam o modelo de threads; o pool do Hikari é o mesmo nas duas.
+ * Executado com ./gradlew benchmark (parâmetros em -Dbenchmark.*), fora dos testes normais.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "algashop.integrations.shipping.provider=RAPIDEX",
+        // sem cache de cotação, para que todo checkout espere a Rapidex
+        "algashop.integrations.rapidex.quote-cache.maximum-size=0",
+        "algashop.integrations.rapidex.resilience.max-concurrent-calls=10000",
+        "algashop.integrations.rapidex.http.max-connections=1000",
+        "algashop.deadline.default=30s",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "spring.jpa.show-sql=false"
+})
+@Sql(scripts = "classpath:db/clean/afterMigrate.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+abstract class CheckoutBenchmarkSupport {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 2000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("benchmark.warmup-requests", 200);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int RAPIDEX_LATENCY_MILLIS = Integer.getInteger("benchmark.rapidex-latency-ms", 100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Customers customers;
+
+    @Autowired
+    private ShoppingCarts shoppingCarts;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WireMockServer wireMockRapidex;
+
+    protected abstract String threading();
+
+    @BeforeEach
+    void setup() {
+        // respostas atrasadas são agendadas sem prender threads do WireMock, que não deve ser o gargalo
+        wireMockRapidex = new WireMockServer(options()
+                .port(8780)
+                .containerThreads(CONCURRENCY + 50)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(50));
+        wireMockRapidex.stubFor(post("/api/delivery-cost")
+                .willReturn(okJson("""
+                        {"deliveryCost":"35.00","estimatedDaysToDeliver":"7"}
+                        """).withFixedDelay(RAPIDEX_LATENCY_MILLIS)));
+        wireMockRapidex.start();
+    }
+
+    @AfterEach
+    void after() {
+        wireMockRapidex.stop();
+    }
+
+    @Test
+    void measureCheckout() throws Exception {
+        List<UUID> warmupCarts = prepareCarts(WARMUP_REQUESTS);
+        List<UUID> measuredCarts = prepareCarts(REQUESTS);
+
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            run(httpClient, warmupCarts);
+            Result result = run(httpClient, measuredCarts);
+
+            System.out.printf("[%s] %d checkouts, concurrency %d, Rapidex latency %d ms: "
+                            + "%.1f req/s, p50 %d ms, p99 %d ms, max %d ms, errors %d%n",
+                    threading(), REQUESTS, CONCURRENCY, RAPIDEX_LATENCY_MILLIS,
+                    result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors());
+
+            Assertions.assertThat(result.errors()).isLessThan(REQUESTS);
+        }
+    }
+
+    private List<UUID> prepareCarts(int count) {
+        List<UUID> cartIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+            customers.add(customer);
+            ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart()
+                    .customerId(customer.id())
+                    .build();
+            shoppingCarts.add(shoppingCart);
+            cartIds.add(shoppingCart.id().value());
+        }
+        return cartIds;
+    }
+
+    private Result run(HttpClient httpClient, List<UUID> cartIds) throws Exception {
+        long[] latencies = new long[cartIds.size()];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < cartIds.size(); i++) {
+                int index = i;
+                HttpRequest request = checkoutRequest(cartIds.get(i));
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 201) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - requestStart;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.get());
+    }
+
+    private HttpRequest checkoutRequest(UUID shoppingCartId) throws Exception {
+        CheckoutInput input = CheckoutInputTestDataBuilder.aCheckoutInput()
+                .shoppingCartId(shoppingCartId)
+                .build();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/orders"))
+                .header("Content-Type", "application/vnd.order-with-shopping-cart.v1+json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(input)))
+                .build();
+    }
+
+    private record Result(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        long percentileMillis(double percentile) {
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000;
+        }
+    }
+}
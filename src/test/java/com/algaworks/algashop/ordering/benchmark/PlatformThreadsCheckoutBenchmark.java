@@ -0,0 +1,12 @@
+package com.algaworks.algashop.ordering.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsCheckoutBenchmark extends CheckoutBenchmarkSupport {
+
+    @Override
+    protected String threading() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,12 @@
+package com.algaworks.algashop.ordering.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadsCheckoutBenchmark extends CheckoutBenchmarkSupport {
+
+    @Override
+    protected String threading() {
+        return "virtual threads";
+    }
+}
@@ -4,10 +4,15 @@ import com.algaworks.algashop.ordering.application.checkout.BuyNowApplicationSer
 import com.algaworks.algashop.ordering.application.checkout.BuyNowInput;
 import com.algaworks.algashop.ordering.application.checkout.CheckoutApplicationService;
 import com.algaworks.algashop.ordering.application.checkout.CheckoutInput;
+import com.algaworks.algashop.ordering.application.order.management.OrderManagementApplicationService;
+import com.algaworks.algashop.ordering.application.order.management.OrderStatusBatchInput;
+import com.algaworks.algashop.ordering.application.order.management.OrderStatusBatchOutput;
+import com.algaworks.algashop.ordering.application.order.management.OrderStatusChangeOutput;
 import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutputTestDataBuilder;
 import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
 import com.algaworks.algashop.ordering.application.order.query.OrderQueryService;
 import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutputTestDataBuilder;
+import com.algaworks.algashop.ordering.application.utility.Deadline;
 import com.algaworks.algashop.ordering.domain.model.order.OrderNotFoundException;
 import com.algaworks.algashop.ordering.presentation.order.OrderController;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
@@ -38,6 +43,9 @@ public class OrderBase {
     @MockitoBean
     private CheckoutApplicationService checkoutApplicationService;
 
+    @MockitoBean
+    private OrderManagementApplicationService orderManagementApplicationService;
+
     public static final String validOrderId = "01226N0640J7Q";
 
     public static final String notFoundOrderId = "01226N0693HDH";
@@ -52,11 +60,11 @@ public class OrderBase {
 
         RestAssuredMockMvc.enableLoggingOfRequestAndResponseIfValidationFails();
 
-        Mockito.when(buyNowApplicationService.buyNow(Mockito.any(BuyNowInput.class)))
-                .thenReturn(validOrderId);
+        Mockito.when(buyNowApplicationService.buyNow(Mockito.any(BuyNowInput.class), Mockito.any(Deadline.class)))
+                .thenReturn(OrderDetailOutputTestDataBuilder.placedOrder(validOrderId).build());
 
-        Mockito.when(checkoutApplicationService.checkout(Mockito.any(CheckoutInput.class)))
-                .thenReturn(validOrderId);
+        Mockito.when(checkoutApplicationService.checkout(Mockito.any(CheckoutInput.class), Mockito.any(Deadline.class)))
+                .thenReturn(OrderDetailOutputTestDataBuilder.placedOrder(validOrderId).build());
 
         Mockito.when(orderQueryService.findById(validOrderId))
                 .thenReturn(OrderDetailOutputTestDataBuilder.placedOrder(validOrderId).build());
@@ -68,6 +76,24 @@ public class OrderBase {
                 .thenReturn(new PageImpl<>(
                         List.of(OrderSummaryOutputTestDataBuilder.placedOrder().id(validOrderId).build())
                 ));
+
+        Mockito.when(orderManagementApplicationService.changeStatus(Mockito.any(OrderStatusBatchInput.class)))
+                .thenReturn(OrderStatusBatchOutput.builder()
+                        .status("PAID")
+                        .changed(1)
+                        .failed(1)
+                        .results(List.of(
+                                OrderStatusChangeOutput.builder()
+                                        .orderId(validOrderId)
+                                        .changed(true)
+                                        .build(),
+                                OrderStatusChangeOutput.builder()
+                                        .orderId(notFoundOrderId)
+                                        .changed(false)
+                                        .error("Order " + notFoundOrderId + " was not found")
+                                        .build()
+                        ))
+                        .build());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.contract.base;
+
+import com.algaworks.algashop.ordering.application.shoppingcart.management.ProductAdjustmentApplicationService;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustment;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustmentSummary;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
+import com.algaworks.algashop.ordering.presentation.shoppingcart.ProductAdjustmentController;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+@WebMvcTest(controllers = ProductAdjustmentController.class)
+@Import(ProductAdjustmentApplicationService.class)
+public class ProductAdjustmentBase {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @MockitoBean
+    private ShoppingCartProductAdjustmentService shoppingCartProductAdjustmentService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RestAssuredMockMvc.mockMvc(
+                MockMvcBuilders.webAppContextSetup(context)
+                        .defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+                        .build()
+        );
+
+        RestAssuredMockMvc.enableLoggingOfRequestAndResponseIfValidationFails();
+
+        Mockito.when(shoppingCartProductAdjustmentService.adjustAll(Mockito.any()))
+                .thenAnswer(invocation -> {
+                    long adjustedProducts = ((Stream<ProductAdjustment>) invocation.getArgument(0)).count();
+                    return new ProductAdjustmentSummary(adjustedProducts, 3, 1);
+                });
+    }
+}
@@ -50,7 +50,7 @@ public class ShoppingCartBase {
                 .thenThrow(new ShoppingCartNotFoundException());
 
         Mockito.when(managementService.createNew(Mockito.any(UUID.class)))
-                .thenReturn(validShoppingCartId);
+                .thenReturn(ShoppingCartOutputTestDataBuilder.aShoppingCart().id(validShoppingCartId).build());
 
     }
 }
\ No newline at end of file
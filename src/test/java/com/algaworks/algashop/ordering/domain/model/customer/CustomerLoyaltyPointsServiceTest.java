@@ -40,6 +40,26 @@ class CustomerLoyaltyPointsServiceTest {
         Assertions.assertThat(customer.loyaltyPoints()).isEqualTo(new LoyaltyPoints(0));
     }
 
+    @Test
+    void givenValidCustomerAndOrder_WhenCalculatingPoints_ShouldNotChangeCustomer() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+
+        Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.READY).build();
 
+        LoyaltyPoints points = customerLoyaltyPointsService.pointsFor(customer, order);
+
+        Assertions.assertThat(points).isEqualTo(new LoyaltyPoints(30));
+        Assertions.assertThat(customer.loyaltyPoints()).isEqualTo(new LoyaltyPoints(0));
+    }
 
-}
\ No newline at end of file
+    @Test
+    void givenArchivedCustomer_WhenCalculatingPoints_ShouldThrow() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+        customer.archive();
+
+        Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.READY).build();
+
+        Assertions.assertThatExceptionOfType(CustomerArchivedException.class)
+                .isThrownBy(() -> customerLoyaltyPointsService.pointsFor(customer, order));
+    }
+}
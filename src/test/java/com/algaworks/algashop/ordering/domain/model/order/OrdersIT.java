@@ -4,12 +4,17 @@ import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.infrastructure.listener.order.OrderEventListener;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerAggregateCache;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityDisassembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.CustomerSalesStatsRecorder;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrdersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,19 +36,26 @@ import static org.assertj.core.api.Assertions.assertThat;
         OrderPersistenceEntityAssembler.class,
         OrderPersistenceEntityDisassembler.class,
         CustomersPersistenceProvider.class,
+        CustomerAggregateCache.class,
+        CacheInvalidationBus.class,
         CustomerPersistenceEntityAssembler.class,
-        CustomerPersistenceEntityDisassembler.class
+        CustomerPersistenceEntityDisassembler.class,
+        CustomerSalesStatsRecorder.class,
+        OrderEventListener.class,
+        DomainEventDispatcher.class
 })
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class OrdersIT {
 
     private Orders orders;
     private Customers customers;
+    private CustomerSalesStatsRecorder salesStatsRecorder;
 
     @Autowired
-    public OrdersIT(Orders orders, Customers customers) {
+    public OrdersIT(Orders orders, Customers customers, CustomerSalesStatsRecorder salesStatsRecorder) {
         this.orders = orders;
         this.customers = customers;
+        this.salesStatsRecorder = salesStatsRecorder;
     }
 
     @BeforeEach
@@ -204,4 +216,48 @@ class OrdersIT {
         Assertions.assertThat(orders.salesQuantityByCustomerInYear(customerId, Year.now().minusYears(1)))
                 .isZero();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldDiscountCanceledPaidOrderFromSales() {
+        Order paidOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+        Order otherPaidOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+        orders.add(paidOrder);
+        orders.add(otherPaidOrder);
+
+        Order orderToCancel = orders.ofId(paidOrder.id()).orElseThrow();
+        orderToCancel.cancel();
+        orders.add(orderToCancel);
+
+        CustomerId customerId = CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID;
+
+        Assertions.assertThat(orders.salesQuantityByCustomerInYear(customerId, Year.now()))
+                .isEqualTo(1L);
+        Assertions.assertThat(orders.totalSoldForCustomer(customerId))
+                .isEqualTo(otherPaidOrder.totalAmount());
+    }
+
+    @Test
+    void shouldCountRedeliveredSalesEventsOnce() {
+        Order paidOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+        Order otherPaidOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+        orders.add(paidOrder);
+        orders.add(otherPaidOrder);
+
+        salesStatsRecorder.registerPaid(paidOrder.id());
+        salesStatsRecorder.registerPaid(otherPaidOrder.id());
+
+        CustomerId customerId = CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID;
+        Assertions.assertThat(orders.salesQuantityByCustomerInYear(customerId, Year.now()))
+                .isEqualTo(2L);
+
+        Order orderToCancel = orders.ofId(paidOrder.id()).orElseThrow();
+        orderToCancel.cancel();
+        orders.add(orderToCancel);
+        salesStatsRecorder.registerCanceled(paidOrder.id());
+
+        Assertions.assertThat(orders.salesQuantityByCustomerInYear(customerId, Year.now()))
+                .isEqualTo(1L);
+        Assertions.assertThat(orders.totalSoldForCustomer(customerId))
+                .isEqualTo(otherPaidOrder.totalAmount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.algaworks.algashop.ordering.infrastructure.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(jdbcTemplate, true, "test_channel");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(bus);
+    }
+
+    @Test
+    void shouldParseNotificationFromAnotherNode() {
+        assertThat(bus.parse("another-node:customers:7f4e3d1c-0000-0000-0000-000000000001"))
+                .contains(new CacheInvalidationEvent("customers", "7f4e3d1c-0000-0000-0000-000000000001"));
+        assertThat(bus.parse("malformed")).isEmpty();
+    }
+
+    @Test
+    void shouldQuoteChannelSoListenMatchesNotifyExactly() {
+        CacheInvalidationBus mixedCase = new CacheInvalidationBus(jdbcTemplate, true, "AlgaShop_\"Cache\"");
+
+        assertThat(mixedCase.listenStatement()).isEqualTo("LISTEN \"AlgaShop_\"\"Cache\"\"\"");
+    }
+
+    @Test
+    void shouldSendOnceBeforeCommitAndIgnoreOwnNotifications() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(CacheInvalidationBus.CUSTOMERS, "a");
+        bus.publish(CacheInvalidationBus.CUSTOMERS, List.of("a", "b"));
+        bus.publish(CacheInvalidationBus.PRODUCTS, "a");
+
+        Mockito.verifyNoInteractions(jdbcTemplate);
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(bus);
+        assertThat(pending).hasSize(3);
+        assertThat(pending).allSatisfy(payload -> assertThat(bus.parse(payload)).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.beforeCommit(false));
+
+        Mockito.verify(jdbcTemplate).execute(Mockito.anyString(), Mockito.any(PreparedStatementCallback.class));
+    }
+
+    @Test
+    void shouldNotSendWhenTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(CacheInvalidationBus.CUSTOMERS, "a");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        Mockito.verifyNoInteractions(jdbcTemplate);
+        assertThat(TransactionSynchronizationManager.getResource(bus)).isNull();
+    }
+
+    @Test
+    void shouldSendImmediatelyOutsideTransaction() {
+        bus.publish(CacheInvalidationBus.PRODUCTS, "a");
+
+        Mockito.verify(jdbcTemplate).execute(Mockito.anyString(), Mockito.any(PreparedStatementCallback.class));
+    }
+}
@@ -0,0 +1,99 @@
+package com.algaworks.algashop.ordering.infrastructure.cache;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerAggregateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+
+@SpringBootTest(properties = {
+        "algashop.cache-invalidation.enabled=true",
+        "algashop.cache-invalidation.channel=AlgaShop_Cache_Invalidation",
+        "algashop.cache-invalidation.poll-interval=200ms",
+        "algashop.cache-invalidation.initial-backoff=100ms"
+})
+class CacheInvalidationListenerIT {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private CustomerAggregateCache customerAggregateCache;
+
+    // o contexto é reaproveitado entre os testes: espera o LISTEN pelo gauge, não pelo evento inicial
+    @BeforeEach
+    void awaitListening() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (meterRegistry.get("cache.invalidation.connected").gauge().value() < 1) {
+            Assertions.assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void shouldDeliverNotificationFromAnotherNode() {
+        String customerId = UUID.randomUUID().toString();
+
+        notifyFromAnotherNode(CacheInvalidationBus.CUSTOMERS, customerId);
+
+        Mockito.verify(customerAggregateCache, Mockito.timeout(TIMEOUT_MILLIS))
+                .listen(new CacheInvalidationEvent(CacheInvalidationBus.CUSTOMERS, customerId));
+    }
+
+    @Test
+    void shouldIgnoreOwnNotifications() {
+        String ownCustomerId = UUID.randomUUID().toString();
+        String otherCustomerId = UUID.randomUUID().toString();
+
+        cacheInvalidationBus.publish(CacheInvalidationBus.CUSTOMERS, ownCustomerId);
+        notifyFromAnotherNode(CacheInvalidationBus.CUSTOMERS, otherCustomerId);
+
+        // o Postgres entrega na ordem dos commits: quando a segunda chega, a primeira já foi descartada
+        Mockito.verify(customerAggregateCache, Mockito.timeout(TIMEOUT_MILLIS))
+                .listen(new CacheInvalidationEvent(CacheInvalidationBus.CUSTOMERS, otherCustomerId));
+        Mockito.verify(customerAggregateCache, Mockito.never())
+                .listen(new CacheInvalidationEvent(CacheInvalidationBus.CUSTOMERS, ownCustomerId));
+    }
+
+    @Test
+    void shouldReconnectAndFlushCachesAfterConnectionLoss() {
+        double reconnects = meterRegistry.get("cache.invalidation.reconnects").counter().count();
+        Mockito.clearInvocations(customerAggregateCache);
+
+        Integer terminated = jdbcTemplate.queryForObject(
+                "SELECT count(pg_terminate_backend(pid)) FROM pg_stat_activity WHERE application_name = ?",
+                Integer.class, CacheInvalidationListener.APPLICATION_NAME);
+        Assertions.assertThat(terminated).isEqualTo(1);
+
+        Mockito.verify(customerAggregateCache, Mockito.timeout(TIMEOUT_MILLIS))
+                .listen(CacheInvalidationEvent.all());
+        Assertions.assertThat(meterRegistry.get("cache.invalidation.reconnects").counter().count())
+                .isGreaterThan(reconnects);
+
+        String customerId = UUID.randomUUID().toString();
+        notifyFromAnotherNode(CacheInvalidationBus.CUSTOMERS, customerId);
+
+        Mockito.verify(customerAggregateCache, Mockito.timeout(TIMEOUT_MILLIS))
+                .listen(new CacheInvalidationEvent(CacheInvalidationBus.CUSTOMERS, customerId));
+    }
+
+    private void notifyFromAnotherNode(String region, String key) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class,
+                cacheInvalidationBus.channel(), "another-node:" + region + ":" + key);
+    }
+}
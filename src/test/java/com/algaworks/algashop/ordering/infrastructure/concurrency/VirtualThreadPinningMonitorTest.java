@@ -0,0 +1,65 @@
+package com.algaworks.algashop.ordering.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(5));
+    private final Object lock = new Object();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void shouldRecordPinnedVirtualThreadsBySite() throws InterruptedException {
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+
+        Timer pinned = awaitPinnedTimer(Duration.ofSeconds(15));
+        Assertions.assertThat(pinned).isNotNull();
+        Assertions.assertThat(pinned.getId().getTag("site")).startsWith(getClass().getName());
+        Assertions.assertThat(pinned.count()).isPositive();
+    }
+
+    @Test
+    void shouldStopMonitoring() {
+        monitor.start();
+        Assertions.assertThat(monitor.isRunning()).isTrue();
+
+        monitor.stop();
+        Assertions.assertThat(monitor.isRunning()).isFalse();
+    }
+
+    // bloquear dentro de synchronized prende a virtual thread à carrier no Java 21
+    private void sleepHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Timer awaitPinnedTimer(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            Timer timer = meterRegistry.find("virtual-threads.pinned").timer();
+            if (timer != null) {
+                return timer;
+            }
+            Thread.sleep(100);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.algaworks.algashop.ordering.infrastructure.http;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+class OutboundHttpClientsTest {
+
+    private WireMockServer wireMockServer;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundHttpClients outboundHttpClients;
+
+    @BeforeEach
+    void setup() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("algashop.integrations.catalog.http.max-connections", "3")
+                .withProperty("algashop.integrations.catalog.http.read-timeout", "200ms");
+        meterRegistry = new SimpleMeterRegistry();
+        outboundHttpClients = new OutboundHttpClients(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboundHttpClients.destroy();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void shouldReuseConnectionsAndExposePoolMetrics() {
+        wireMockServer.stubFor(get("/ping").willReturn(ok("pong")));
+        RestClient restClient = restClient();
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertThat(restClient.get().uri("/ping").retrieve().body(String.class)).isEqualTo("pong");
+        }
+
+        Assertions.assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "catalog").gauge().value()).isEqualTo(3.0);
+        Assertions.assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "catalog").tag("state", "available").gauge().value()).isEqualTo(1.0);
+        Assertions.assertThat(meterRegistry.get("http.client.pool.wait")
+                .tag("integration", "catalog").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldFailWhenResponseExceedsReadTimeout() {
+        wireMockServer.stubFor(get("/slow").willReturn(ok("late").withFixedDelay(1000)));
+        RestClient restClient = restClient();
+
+        Assertions.assertThatExceptionOfType(ResourceAccessException.class)
+                .isThrownBy(() -> restClient.get().uri("/slow").retrieve().body(String.class));
+    }
+
+    private RestClient restClient() {
+        return RestClient.builder()
+                .baseUrl(wireMockServer.baseUrl())
+                .requestFactory(outboundHttpClients.requestFactory("catalog"))
+                .build();
+    }
+}
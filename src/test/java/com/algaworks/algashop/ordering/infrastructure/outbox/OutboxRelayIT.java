@@ -0,0 +1,137 @@
+package com.algaworks.algashop.ordering.infrastructure.outbox;
+
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderPlacedEvent;
+import com.algaworks.algashop.ordering.infrastructure.listener.order.OrderEventListener;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxMessagePersistenceEntityRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {
+        "algashop.outbox.enabled=true",
+        "algashop.outbox.relay.interval=1h",
+        "algashop.outbox.relay.initial-backoff=1m"
+})
+class OutboxRelayIT {
+
+    @Autowired
+    private OutboxEventStore outboxEventStore;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxMessagePersistenceEntityRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    private OrderEventListener orderEventListener;
+
+    @AfterEach
+    void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldDispatchStoredEventAfterCommit() {
+        OrderPlacedEvent event = anOrderPlacedEvent();
+
+        transactionTemplate.executeWithoutResult(status -> outboxEventStore.append(List.of(event)));
+
+        Mockito.verify(orderEventListener, Mockito.never()).listen(Mockito.any(OrderPlacedEvent.class));
+
+        Assertions.assertThat(outboxRelay.relayPending()).isEqualTo(1);
+
+        Mockito.verify(orderEventListener).listen(event);
+        Assertions.assertThat(repository.findAll()).singleElement().satisfies(message -> {
+            Assertions.assertThat(message.getStatus()).isEqualTo(OutboxMessagePersistenceEntity.STATUS_PROCESSED);
+            Assertions.assertThat(message.getProcessedAt()).isNotNull();
+            Assertions.assertThat(message.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldRescheduleMessageWhenListenerFails() {
+        Mockito.doThrow(new IllegalStateException("listener down"))
+                .when(orderEventListener).listen(Mockito.any(OrderPlacedEvent.class));
+
+        transactionTemplate.executeWithoutResult(status -> outboxEventStore.append(List.of(anOrderPlacedEvent())));
+
+        Assertions.assertThat(outboxRelay.relayPending()).isZero();
+
+        Assertions.assertThat(repository.findAll()).singleElement().satisfies(message -> {
+            Assertions.assertThat(message.getStatus()).isEqualTo(OutboxMessagePersistenceEntity.STATUS_PENDING);
+            Assertions.assertThat(message.getAttempts()).isEqualTo(1);
+            Assertions.assertThat(message.getLastError()).contains("listener down");
+            Assertions.assertThat(message.getAvailableAt()).isAfter(OffsetDateTime.now());
+        });
+
+        Assertions.assertThat(outboxRelay.relayPending()).isZero();
+        Mockito.verify(orderEventListener, Mockito.times(1)).listen(Mockito.any(OrderPlacedEvent.class));
+    }
+
+    @Test
+    void shouldNotLockMessageAlreadyBeingDispatched() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> outboxEventStore.append(List.of(anOrderPlacedEvent())));
+        Long messageId = repository.findAll().getFirst().getId();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherInstance = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    Assertions.assertThat(repository.lockPending(messageId)).isPresent();
+                    locked.countDown();
+                    await(release);
+                }));
+
+        try {
+            Assertions.assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+            Assertions.assertThat(transactionTemplate.execute(status -> repository.lockPending(messageId)))
+                    .isEmpty();
+        } finally {
+            release.countDown();
+            otherInstance.get(5, TimeUnit.SECONDS);
+        }
+
+        Assertions.assertThat(transactionTemplate.execute(status -> repository.lockPending(messageId)))
+                .isPresent();
+    }
+
+    @Test
+    void shouldRequireTransactionToAppendEvents() {
+        Assertions.assertThatThrownBy(() -> outboxEventStore.append(List.of(anOrderPlacedEvent())))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderPlacedEvent anOrderPlacedEvent() {
+        return new OrderPlacedEvent(new OrderId(), new CustomerId(),
+                OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS));
+    }
+}
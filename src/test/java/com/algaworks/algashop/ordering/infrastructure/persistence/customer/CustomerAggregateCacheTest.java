@@ -0,0 +1,135 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.commons.FullName;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerArchivedEvent;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerAggregateCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CustomerId customerId = CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID;
+
+    private CustomerAggregateCache cache;
+    private Long storedVersion;
+
+    @BeforeEach
+    void setup() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        cache = new CustomerAggregateCache(beanFactory.getBeanProvider(MeterRegistry.class),
+                true, 100, Duration.ofMinutes(5));
+        storedVersion = 1L;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    @Test
+    void shouldLoadOnceAndReturnCopies() {
+        Customer first = cache.get(customerId, loader()).orElseThrow();
+        first.changeName(new FullName("Changed", "Name"));
+
+        Customer second = cache.get(customerId, loader()).orElseThrow();
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.fullName()).isEqualTo(new FullName("John", "Doe"));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "customers").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotCacheMissingCustomer() {
+        Function<CustomerId, Optional<Customer>> missing = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.get(customerId, missing)).isEmpty();
+        assertThat(cache.get(customerId, missing)).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        cache.get(customerId, loader());
+        cache.evict(customerId);
+        cache.get(customerId, loader());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldReloadAfterArchivedEvent() {
+        cache.get(customerId, loader());
+        cache.listen(new CustomerArchivedEvent(customerId, OffsetDateTime.now()));
+        cache.get(customerId, loader());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictOnlyWhenStoredVersionDiffers() {
+        cache.get(customerId, loader());
+
+        cache.verify(customerId, 1L);
+        cache.get(customerId, loader());
+        assertThat(loads).hasValue(1);
+
+        storedVersion = 2L;
+        cache.verify(customerId, 2L);
+        Customer reloaded = cache.get(customerId, loader()).orElseThrow();
+
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.version()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldBypassCacheForCustomerWrittenInCurrentTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(customerId);
+        cache.get(customerId, loader());
+        cache.get(customerId, loader());
+        assertThat(loads).hasValue(2);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        cache.get(customerId, loader());
+        cache.get(customerId, loader());
+        assertThat(loads).hasValue(3);
+    }
+
+    private Function<CustomerId, Optional<Customer>> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.of(CustomerTestDataBuilder.existingCustomer().id(id).version(storedVersion).build());
+        };
+    }
+}
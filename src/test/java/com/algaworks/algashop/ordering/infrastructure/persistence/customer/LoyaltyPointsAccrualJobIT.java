@@ -0,0 +1,180 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Email;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.*;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.Orders;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+@SpringBootTest(properties = {
+        "algashop.loyalty-points.accrual.batch.enabled=true",
+        "algashop.loyalty-points.accrual.batch.interval=1h",
+        "algashop.loyalty-points.accrual.batch.settle-time=0s",
+        "algashop.loyalty-points.accrual.batch.size=2"
+})
+@Transactional
+class LoyaltyPointsAccrualJobIT {
+
+    @Autowired
+    private LoyaltyPointsAccrualJob job;
+
+    @Autowired
+    private Customers customers;
+
+    @Autowired
+    private Orders orders;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        resetWatermark();
+    }
+
+    @Test
+    void shouldCreditReadyOrdersGroupedByCustomerInBatches() {
+        Customer customerA = CustomerTestDataBuilder.brandNewCustomer().build();
+        Customer customerB = CustomerTestDataBuilder.brandNewCustomer()
+                .email(new Email("accrual-b@example.com")).build();
+        customers.add(customerA);
+        customers.add(customerB);
+
+        readyOrder(customerA, "2500");
+        readyOrder(customerA, "2500");
+        readyOrder(customerB, "1000");
+
+        Assertions.assertThat(job.accrueNextBatch()).isEqualTo(2);
+        Assertions.assertThat(job.accrueNextBatch()).isEqualTo(1);
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Assertions.assertThat(customers.ofId(customerA.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(new LoyaltyPoints(20));
+        Assertions.assertThat(customers.ofId(customerB.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(new LoyaltyPoints(5));
+    }
+
+    @Test
+    void shouldNotCreditOrdersTwiceWhenBatchIsReplayed() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        readyOrder(customer, "2500");
+
+        Assertions.assertThat(job.accrueNextBatch()).isEqualTo(1);
+
+        resetWatermark();
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Customer updatedCustomer = customers.ofId(customer.id()).orElseThrow();
+        Assertions.assertThat(updatedCustomer.loyaltyPoints()).isEqualTo(new LoyaltyPoints(10));
+        Assertions.assertThat(updatedCustomer.version()).isEqualTo(customer.version() + 1);
+    }
+
+    @Test
+    void shouldCreditOrderCommittedAfterWatermarkPassedIt() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        readyOrder(customer, "2500");
+        jdbcTemplate.update("UPDATE job_watermark SET last_processed_at = ?, last_processed_id = 0 WHERE name = ?",
+                OffsetDateTime.now().plusMinutes(5), LoyaltyPointsAccrualJob.WATERMARK_NAME);
+
+        Assertions.assertThat(job.accrueNextBatch()).isEqualTo(1);
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Assertions.assertThat(customers.ofId(customer.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(new LoyaltyPoints(10));
+    }
+
+    @Test
+    void shouldNotCreditOrdersReadyBeforeFloor() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        // pedido creditado pelo listener antes da migração: READY, mas sem linha de crédito
+        readyOrder(customer, "2500");
+        jdbcTemplate.update("UPDATE job_watermark SET floor_at = ? WHERE name = ?",
+                OffsetDateTime.now(), LoyaltyPointsAccrualJob.WATERMARK_NAME);
+
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Assertions.assertThat(customers.ofId(customer.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(LoyaltyPoints.ZERO);
+    }
+
+    @Test
+    void shouldNotCreditOrderCanceledAfterReady() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        Order order = readyOrder(customer, "2500");
+        Order canceled = orders.ofId(order.id()).orElseThrow();
+        canceled.cancel();
+        orders.add(canceled);
+
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Assertions.assertThat(customers.ofId(customer.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(LoyaltyPoints.ZERO);
+    }
+
+    @Test
+    void shouldSkipArchivedCustomers() {
+        Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+        customers.add(customer);
+
+        readyOrder(customer, "2500");
+
+        customer.archive();
+        customers.add(customer);
+
+        Assertions.assertThat(job.accrueNextBatch()).isEqualTo(1);
+        Assertions.assertThat(job.accrueNextBatch()).isZero();
+
+        entityManager.clear();
+        Assertions.assertThat(customers.ofId(customer.id()).orElseThrow().loyaltyPoints())
+                .isEqualTo(LoyaltyPoints.ZERO);
+    }
+
+    private Order readyOrder(Customer customer, String price) {
+        Order order = OrderTestDataBuilder.anOrder()
+                .customerId(customer.id())
+                .status(OrderStatus.DRAFT)
+                .withItems(false)
+                .build();
+        order.addItem(ProductTestDataBuilder.aProduct().price(new Money(price)).build(), new Quantity(1));
+        order.place();
+        order.markAsPaid();
+        order.markAsReady();
+        orders.add(order);
+        return order;
+    }
+
+    private void resetWatermark() {
+        jdbcTemplate.update("UPDATE job_watermark SET last_processed_at = ?, last_processed_id = 0 WHERE name = ?",
+                OffsetDateTime.now().minusDays(1), LoyaltyPointsAccrualJob.WATERMARK_NAME);
+    }
+}
@@ -2,6 +2,8 @@ package com.algaworks.algashop.ordering.infrastructure.persistence.provider;
 
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustment;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ProductAdjustmentSummary;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItem;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
@@ -9,6 +11,8 @@ import com.algaworks.algashop.ordering.domain.model.product.Product;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerAggregateCache;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
@@ -18,6 +22,7 @@ import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.S
 import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntityRepository;
 import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartUpdateProvider;
 import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartsPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.outbox.DomainEventDispatcher;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +35,8 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.stream.Stream;
+
 @DataJpaTest
 @Import({
         ShoppingCartUpdateProvider.class,
@@ -37,9 +44,12 @@ import org.springframework.transaction.annotation.Transactional;
         ShoppingCartPersistenceEntityAssembler.class,
         ShoppingCartPersistenceEntityDisassembler.class,
         CustomersPersistenceProvider.class,
+        CustomerAggregateCache.class,
+        CacheInvalidationBus.class,
         CustomerPersistenceEntityAssembler.class,
         CustomerPersistenceEntityDisassembler.class,
-        SpringDataAuditingConfig.class
+        SpringDataAuditingConfig.class,
+        DomainEventDispatcher.class
 })
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = "classpath:db/clean/afterMigrate.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -137,5 +147,47 @@ class ShoppingCartUpdateProviderIT {
 
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NEVER)
+    void shouldAdjustPricesAndAvailabilityInBulk() {
+        ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart().withItems(false).build();
+
+        Product product1 = ProductTestDataBuilder.aProduct()
+                .price(new Money("2000"))
+                .inStock(true).build();
+        Product product2 = ProductTestDataBuilder.aProductAltRamMemory()
+                .price(new Money("200"))
+                .inStock(true).build();
+
+        shoppingCart.addItem(product1, new Quantity(2));
+        shoppingCart.addItem(product2, new Quantity(1));
+
+        persistenceProvider.add(shoppingCart);
+
+        ProductAdjustmentSummary summary = shoppingCartUpdateProvider.adjustAll(Stream.of(
+                new ProductAdjustment(product1.id(), new Money("1800"), null),
+                new ProductAdjustment(product1.id(), new Money("1500"), null),
+                new ProductAdjustment(product2.id(), null, false),
+                new ProductAdjustment(new ProductId(), new Money("10"), true)
+        ));
+
+        Assertions.assertThat(summary.adjustedProducts()).isEqualTo(3);
+        Assertions.assertThat(summary.updatedItems()).isEqualTo(2);
+        Assertions.assertThat(summary.updatedShoppingCarts()).isEqualTo(1);
+
+        ShoppingCart updatedShoppingCart = persistenceProvider.ofId(shoppingCart.id()).orElseThrow();
+
+        ShoppingCartItem item1 = updatedShoppingCart.findItem(product1.id());
+        Assertions.assertThat(item1.price()).isEqualTo(new Money("1500"));
+        Assertions.assertThat(item1.totalAmount()).isEqualTo(new Money("3000"));
+        Assertions.assertThat(item1.isAvailable()).isTrue();
+
+        ShoppingCartItem item2 = updatedShoppingCart.findItem(product2.id());
+        Assertions.assertThat(item2.price()).isEqualTo(new Money("200"));
+        Assertions.assertThat(item2.isAvailable()).isFalse();
+
+        Assertions.assertThat(updatedShoppingCart.totalAmount()).isEqualTo(new Money("3200"));
+    }
+
 
 }
\ No newline at end of file
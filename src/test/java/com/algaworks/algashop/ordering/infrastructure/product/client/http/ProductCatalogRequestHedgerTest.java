@@ -0,0 +1,127 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ProductCatalogRequestHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductCatalogRequestHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        hedger.close();
+    }
+
+    @Test
+    void shouldReturnHedgeWhenPrimaryIsSlowAndCancelPrimary() throws InterruptedException {
+        hedger = newHedger(true, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                    throw new IllegalStateException(e);
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts).hasValue(2);
+        assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(count("sent")).isEqualTo(1.0);
+        assertThat(count("won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotHedgeWhenBudgetIsExhausted() {
+        hedger = newHedger(true, 0.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("sent")).isZero();
+        assertThat(count("budget-exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldLimitHedgesToBudget() {
+        hedger = newHedger(true, 0.5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            hedger.call(() -> {
+                attempts.incrementAndGet();
+                sleep(50);
+                return "value";
+            });
+        }
+
+        assertThat(count("sent")).isEqualTo(2.0);
+        assertThat(count("budget-exhausted")).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldFailOnlyWhenAllAttemptsFail() {
+        hedger = newHedger(true, 1.0);
+
+        assertThatIllegalStateException().isThrownBy(() -> hedger.call(() -> {
+            sleep(50);
+            throw new IllegalStateException("boom");
+        })).withMessage("boom");
+    }
+
+    @Test
+    void shouldCallDirectlyWhenDisabled() {
+        hedger = newHedger(false, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            attempts.incrementAndGet();
+            sleep(50);
+            return "value";
+        });
+
+        assertThat(result).isEqualTo("value");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("sent")).isZero();
+    }
+
+    private ProductCatalogRequestHedger newHedger(boolean enabled, double budget) {
+        return new ProductCatalogRequestHedger(enabled, 0.95, Duration.ofMillis(10), Duration.ofMillis(10),
+                budget, meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("product-catalog.hedge.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
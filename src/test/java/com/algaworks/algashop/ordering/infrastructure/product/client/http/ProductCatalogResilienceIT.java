@@ -0,0 +1,114 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.http;
+
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.presentation.BadGatewayException;
+import com.algaworks.algashop.ordering.presentation.ServiceUnavailableException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+@SpringBootTest(properties = {
+        "algashop.integrations.product-catalog.resilience.sliding-window-size=4",
+        "algashop.integrations.product-catalog.resilience.minimum-number-of-calls=4",
+        "algashop.integrations.product-catalog.resilience.failure-rate-threshold=50",
+        "algashop.integrations.product-catalog.resilience.slow-call-duration=200ms",
+        "algashop.integrations.product-catalog.resilience.slow-call-rate-threshold=100",
+        "algashop.integrations.product-catalog.resilience.wait-duration-in-open-state=1h"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ProductCatalogResilienceIT {
+
+    @Autowired
+    private ProductCatalogServiceHttpImpl productCatalogService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WireMockServer wireMockProductCatalog;
+
+    @BeforeEach
+    void setup() {
+        wireMockProductCatalog = new WireMockServer(options()
+                .port(8781)
+                .extensions(new ResponseTemplateTransformer(true)));
+        wireMockProductCatalog.start();
+    }
+
+    @AfterEach
+    void after() {
+        wireMockProductCatalog.stop();
+    }
+
+    @Test
+    void shouldServeLastKnownProductWhileCatalogFailsAndOpenCircuit() {
+        ProductId knownProductId = new ProductId();
+        stubProduct(knownProductId);
+
+        Product known = productCatalogService.ofId(knownProductId).orElseThrow();
+
+        wireMockProductCatalog.resetAll();
+        wireMockProductCatalog.stubFor(get(urlPathMatching("/api/v1/products/.*"))
+                .willReturn(serverError()));
+
+        Assertions.assertThat(productCatalogService.ofId(knownProductId)).contains(known);
+        Assertions.assertThatExceptionOfType(BadGatewayException.class)
+                .isThrownBy(() -> productCatalogService.ofId(new ProductId()));
+        Assertions.assertThatExceptionOfType(BadGatewayException.class)
+                .isThrownBy(() -> productCatalogService.ofId(new ProductId()));
+
+        int requestsBeforeOpen = wireMockProductCatalog.getAllServeEvents().size();
+
+        Assertions.assertThat(productCatalogService.ofId(knownProductId)).contains(known);
+        Assertions.assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> productCatalogService.ofId(new ProductId()));
+
+        Assertions.assertThat(wireMockProductCatalog.getAllServeEvents()).hasSize(requestsBeforeOpen);
+        Assertions.assertThat(transitions("CLOSED", "OPEN")).isEqualTo(1.0);
+        Assertions.assertThat(meterRegistry.get("integration.fallback")
+                .tag("name", "product-catalog").tag("outcome", "stale").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldOpenCircuitWhenCatalogIsSlow() {
+        wireMockProductCatalog.stubFor(get(urlPathMatching("/api/v1/products/.*"))
+                .willReturn(okJson(productJson()).withFixedDelay(400)));
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThat(productCatalogService.ofId(new ProductId())).isPresent();
+        }
+
+        Assertions.assertThatExceptionOfType(ServiceUnavailableException.class)
+                .isThrownBy(() -> productCatalogService.ofId(new ProductId()));
+        Assertions.assertThat(transitions("CLOSED", "OPEN")).isEqualTo(1.0);
+    }
+
+    private void stubProduct(ProductId productId) {
+        wireMockProductCatalog.stubFor(get(urlEqualTo("/api/v1/products/" + productId.value()))
+                .willReturn(okJson(productJson().replace("{{request.path.[3]}}", productId.value().toString()))));
+    }
+
+    private String productJson() {
+        return """
+                {"id":"{{request.path.[3]}}","name":"Notebook X11","salePrice":1000.00,"inStock":true}
+                """;
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.get("integration.circuitbreaker.transitions")
+                .tag("name", "product-catalog")
+                .tag("from", from)
+                .tag("to", to)
+                .counter().count();
+    }
+}
@@ -0,0 +1,184 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.http;
+
+import com.algaworks.algashop.ordering.application.utility.Deadline;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductChangedEvent;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegrations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogServiceHttpImplTest {
+
+    @Mock
+    private ProductCatalogAPIClient productCatalogAPIClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductCatalogServiceHttpImpl productCatalogService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCatalogService = newService(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCatalogService.close();
+    }
+
+    @Test
+    void shouldCallCatalogOnlyOnceForRepeatedLookups() {
+        ProductId productId = new ProductId();
+        Mockito.when(productCatalogAPIClient.getById(productId.value()))
+                .thenReturn(aProductResponse(productId));
+
+        Optional<Product> first = productCatalogService.ofId(productId);
+        Optional<Product> second = productCatalogService.ofId(productId);
+
+        assertThat(first).isPresent();
+        assertThat(second).isEqualTo(first);
+        Mockito.verify(productCatalogAPIClient, Mockito.times(1)).getById(productId.value());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReloadProductAfterProductChangedEvent() {
+        ProductId productId = new ProductId();
+        Mockito.when(productCatalogAPIClient.getById(productId.value()))
+                .thenReturn(aProductResponse(productId));
+
+        productCatalogService.ofId(productId);
+        productCatalogService.listen(new ProductChangedEvent(productId));
+        productCatalogService.ofId(productId);
+
+        Mockito.verify(productCatalogAPIClient, Mockito.times(2)).getById(productId.value());
+    }
+
+    @Test
+    void shouldNotCacheProductNotFound() {
+        ProductId productId = new ProductId();
+        Mockito.when(productCatalogAPIClient.getById(productId.value()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found",
+                        HttpHeaders.EMPTY, null, null));
+
+        assertThat(productCatalogService.ofId(productId)).isEmpty();
+        assertThat(productCatalogService.ofId(productId)).isEmpty();
+
+        Mockito.verify(productCatalogAPIClient, Mockito.times(2)).getById(productId.value());
+    }
+
+    @Test
+    void shouldLoadSeveralProductsInOneCall() {
+        ProductId productId = new ProductId();
+        ProductId otherProductId = new ProductId();
+        Mockito.when(productCatalogAPIClient.getByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(aProductResponse(productId), aProductResponse(otherProductId)));
+
+        Map<ProductId, Product> products = productCatalogService.ofIds(List.of(productId, otherProductId));
+
+        assertThat(products).containsOnlyKeys(productId, otherProductId);
+        Mockito.verify(productCatalogAPIClient, Mockito.times(1)).getByIds(Mockito.anyCollection());
+        Mockito.verify(productCatalogAPIClient, Mockito.never()).getById(Mockito.any());
+    }
+
+    @Test
+    void shouldCollapseConcurrentSingleLookupsIntoOneCall() throws Exception {
+        productCatalogService.close();
+        productCatalogService = newService(Duration.ofMillis(200));
+
+        ProductId productId = new ProductId();
+        ProductId otherProductId = new ProductId();
+        Mockito.when(productCatalogAPIClient.getByIds(Mockito.anyCollection()))
+                .thenReturn(List.of(aProductResponse(productId), aProductResponse(otherProductId)));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Optional<Product>> first = executor.submit(() -> productCatalogService.ofId(productId));
+            Future<Optional<Product>> second = executor.submit(() -> productCatalogService.ofId(otherProductId));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+
+        Mockito.verify(productCatalogAPIClient, Mockito.times(1)).getByIds(Mockito.anyCollection());
+        Mockito.verify(productCatalogAPIClient, Mockito.never()).getById(Mockito.any());
+    }
+
+    @Test
+    void shouldLoadCollapsedLookupsUnderLatestCallerDeadline() throws Exception {
+        productCatalogService.close();
+        productCatalogService = newService(Duration.ofMillis(200));
+
+        ProductId productId = new ProductId();
+        ProductId otherProductId = new ProductId();
+        AtomicReference<Deadline> loadDeadline = new AtomicReference<>();
+        Mockito.when(productCatalogAPIClient.getByIds(Mockito.anyCollection())).thenAnswer(invocation -> {
+            loadDeadline.set(Deadline.current());
+            return List.of(aProductResponse(productId), aProductResponse(otherProductId));
+        });
+
+        Deadline shorter = Deadline.after("checkout", Duration.ofSeconds(3));
+        Deadline longer = Deadline.after("buy-now", Duration.ofSeconds(6));
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Optional<Product>> first = executor.submit(
+                    () -> shorter.run(() -> productCatalogService.ofId(productId)));
+            Future<Optional<Product>> second = executor.submit(
+                    () -> longer.run(() -> productCatalogService.ofId(otherProductId)));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+
+        Mockito.verify(productCatalogAPIClient, Mockito.times(1)).getByIds(Mockito.anyCollection());
+        assertThat(loadDeadline.get()).isSameAs(longer);
+    }
+
+    private ProductCatalogServiceHttpImpl newService(Duration batchWindow) {
+        return new ProductCatalogServiceHttpImpl(
+                productCatalogAPIClient,
+                meterRegistry,
+                new ResilientIntegrations(new MockEnvironment(), meterRegistry),
+                true,
+                100,
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(1),
+                batchWindow,
+                50,
+                false,
+                0.95,
+                Duration.ofMillis(200),
+                Duration.ofMillis(20),
+                0.05
+        );
+    }
+
+    private ProductResponse aProductResponse(ProductId productId) {
+        return new ProductResponse(productId.value(), "Notebook", new BigDecimal("3000"), true);
+    }
+}
@@ -0,0 +1,188 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.snapshot;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductChangedEvent;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationBus;
+import com.algaworks.algashop.ordering.infrastructure.cache.CacheInvalidationEvent;
+import com.algaworks.algashop.ordering.infrastructure.product.client.http.ProductCatalogServiceHttpImpl;
+import com.algaworks.algashop.ordering.infrastructure.product.client.http.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class ProductCatalogServiceSnapshotImplTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProductCatalogServiceHttpImpl remoteCatalog = Mockito.mock(ProductCatalogServiceHttpImpl.class);
+
+    private Path snapshotPath;
+    private Path exportPath;
+
+    private final Product notebook = aProduct("Notebook", "3000.00", true);
+    private final Product mouse = aProduct("Mouse", "99.90", false);
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = directory.resolve("product-catalog.snapshot");
+        exportPath = directory.resolve("product-catalog-export.ndjson");
+    }
+
+    @Test
+    void shouldSkipRefreshWhenExportIsUnchanged() throws IOException {
+        export(Instant.now().minusSeconds(60), notebook);
+        ProductCatalogServiceSnapshotImpl catalog = newCatalog();
+
+        Assertions.assertThat(catalog.refresh()).isTrue();
+        FileTime rebuiltAt = Files.getLastModifiedTime(snapshotPath);
+
+        Assertions.assertThat(catalog.refresh()).isFalse();
+        Assertions.assertThat(Files.getLastModifiedTime(snapshotPath)).isEqualTo(rebuiltAt);
+        Assertions.assertThat(catalog.ofId(notebook.id())).contains(notebook);
+        Mockito.verifyNoInteractions(remoteCatalog);
+    }
+
+    @Test
+    void shouldSwapToNewSnapshotOnlyAfterSuccessfulRebuild() throws IOException {
+        Instant firstExport = Instant.now().minusSeconds(120);
+        export(firstExport, notebook);
+        ProductCatalogServiceSnapshotImpl catalog = newCatalog();
+        catalog.refresh();
+
+        Files.writeString(exportPath, "{not json");
+        Files.setLastModifiedTime(exportPath, FileTime.from(firstExport.plusSeconds(30)));
+        Assertions.assertThatThrownBy(catalog::refresh).isInstanceOf(RuntimeException.class);
+        Assertions.assertThat(catalog.ofId(notebook.id())).contains(notebook);
+
+        export(firstExport.plusSeconds(60), mouse);
+        Assertions.assertThat(catalog.refresh()).isTrue();
+
+        Assertions.assertThat(catalog.ofId(mouse.id())).contains(mouse);
+        Mockito.when(remoteCatalog.ofId(notebook.id())).thenReturn(Optional.empty());
+        Assertions.assertThat(catalog.ofId(notebook.id())).isEmpty();
+        Mockito.verify(remoteCatalog).ofId(notebook.id());
+        try (var files = Files.list(directory)) {
+            Assertions.assertThat(files).containsExactlyInAnyOrder(snapshotPath, exportPath);
+        }
+    }
+
+    @Test
+    void shouldReuseExistingSnapshotNewerThanExport() throws IOException {
+        Instant exportedAt = Instant.now().minusSeconds(120);
+        export(exportedAt, notebook);
+        newCatalog().refresh();
+        Files.setLastModifiedTime(snapshotPath, FileTime.from(exportedAt.plusSeconds(60)));
+
+        ProductCatalogServiceSnapshotImpl restarted = newCatalog();
+
+        Assertions.assertThat(restarted.ofId(notebook.id())).contains(notebook);
+        Assertions.assertThat(restarted.refresh()).isFalse();
+        Mockito.verifyNoInteractions(remoteCatalog);
+    }
+
+    @Test
+    void shouldRebuildExistingSnapshotOlderThanExport() throws IOException {
+        Instant exportedAt = Instant.now().minusSeconds(120);
+        export(exportedAt, notebook);
+        newCatalog().refresh();
+        Files.setLastModifiedTime(snapshotPath, FileTime.from(exportedAt.minusSeconds(60)));
+
+        ProductCatalogServiceSnapshotImpl restarted = newCatalog();
+
+        Assertions.assertThat(restarted.ofId(notebook.id())).contains(notebook);
+        Assertions.assertThat(restarted.refresh()).isTrue();
+    }
+
+    @Test
+    void shouldServeChangedProductsFromRemoteUntilNewerExport() throws IOException {
+        export(Instant.now().minusSeconds(60), notebook, mouse);
+        ProductCatalogServiceSnapshotImpl catalog = newCatalog();
+        catalog.refresh();
+
+        Product repriced = new Product(notebook.id(), notebook.name(), new Money("2500.00"), true);
+        Mockito.when(remoteCatalog.ofId(notebook.id())).thenReturn(Optional.of(repriced));
+        Mockito.when(remoteCatalog.ofId(mouse.id())).thenReturn(Optional.of(mouse));
+
+        catalog.listen(new ProductChangedEvent(notebook.id()));
+        catalog.listen(new CacheInvalidationEvent(CacheInvalidationBus.PRODUCTS, mouse.id().value().toString()));
+        catalog.listen(CacheInvalidationEvent.all());
+
+        Assertions.assertThat(catalog.ofId(notebook.id())).contains(repriced);
+        Assertions.assertThat(catalog.ofId(mouse.id())).contains(mouse);
+        Mockito.verify(remoteCatalog).ofId(notebook.id());
+        Mockito.verify(remoteCatalog).ofId(mouse.id());
+
+        export(Instant.now().plus(Duration.ofMinutes(1)), repriced, mouse);
+        catalog.refresh();
+        Mockito.clearInvocations(remoteCatalog);
+
+        Assertions.assertThat(catalog.ofId(notebook.id())).contains(repriced);
+        Assertions.assertThat(catalog.ofId(mouse.id())).contains(mouse);
+        Mockito.verifyNoInteractions(remoteCatalog);
+    }
+
+    @Test
+    void shouldAskRemoteCatalogOnlyForProductsMissingFromSnapshot() throws IOException {
+        export(Instant.now().minusSeconds(60), notebook, mouse);
+        ProductCatalogServiceSnapshotImpl catalog = newCatalog();
+        catalog.refresh();
+
+        Product keyboard = aProduct("Keyboard", "150.00", true);
+        catalog.listen(new ProductChangedEvent(mouse.id()));
+        Mockito.when(remoteCatalog.ofIds(Mockito.anyCollection()))
+                .thenReturn(Map.of(keyboard.id(), keyboard, mouse.id(), mouse));
+
+        Map<ProductId, Product> products = catalog.ofIds(List.of(notebook.id(), mouse.id(), keyboard.id()));
+
+        Assertions.assertThat(products).containsOnly(
+                Map.entry(notebook.id(), notebook),
+                Map.entry(mouse.id(), mouse),
+                Map.entry(keyboard.id(), keyboard));
+        Mockito.verify(remoteCatalog).ofIds(List.of(mouse.id(), keyboard.id()));
+    }
+
+    private ProductCatalogServiceSnapshotImpl newCatalog() {
+        return new ProductCatalogServiceSnapshotImpl(remoteCatalog, objectMapper, new SimpleMeterRegistry(),
+                snapshotPath, exportPath);
+    }
+
+    private void export(Instant modifiedAt, Product... products) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Product product : products) {
+            lines.add(objectMapper.writeValueAsString(new ProductResponse(product.id().value(),
+                    product.name().value(), product.price().value(), product.inStock())));
+        }
+        Files.write(exportPath, lines);
+        Files.setLastModifiedTime(exportPath, FileTime.from(modifiedAt));
+    }
+
+    private static Product aProduct(String name, String price, boolean inStock) {
+        return Product.builder()
+                .id(new ProductId(UUID.randomUUID()))
+                .name(new ProductName(name))
+                .price(new Money(price))
+                .inStock(inStock)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.algaworks.algashop.ordering.infrastructure.product.client.snapshot;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ProductSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldFindEveryWrittenProduct() {
+        Path file = directory.resolve("catalog.snapshot");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(aProduct(UUID.randomUUID(), "Product " + i, new Money(i + ".99"), i % 2 == 0));
+        }
+
+        Assertions.assertThat(ProductSnapshot.write(file, products)).isEqualTo(products.size());
+
+        ProductSnapshot snapshot = ProductSnapshot.open(file);
+        Assertions.assertThat(snapshot.size()).isEqualTo(products.size());
+        products.forEach(product -> Assertions.assertThat(snapshot.find(product.id())).contains(product));
+        Assertions.assertThat(snapshot.find(new ProductId())).isEmpty();
+    }
+
+    @Test
+    void shouldOrderIdsWithNegativeBits() {
+        Path file = directory.resolve("catalog.snapshot");
+        Product negative = aProduct(new UUID(-1L, -1L), "Negative", new Money("10"), true);
+        Product positive = aProduct(new UUID(1L, 1L), "Positive", new Money("20"), false);
+
+        ProductSnapshot.write(file, List.of(positive, negative));
+        ProductSnapshot snapshot = ProductSnapshot.open(file);
+
+        Assertions.assertThat(snapshot.find(negative.id())).contains(negative);
+        Assertions.assertThat(snapshot.find(positive.id())).contains(positive);
+    }
+
+    @Test
+    void shouldLeaveOutProductsThatDoNotFitTheRecord() {
+        Path file = directory.resolve("catalog.snapshot");
+        Product longName = aProduct(UUID.randomUUID(), "x".repeat(ProductSnapshot.NAME_MAX_BYTES + 1),
+                new Money("10"), true);
+        Product regular = aProduct(UUID.randomUUID(), "Notebook", new Money("3000"), true);
+
+        Assertions.assertThat(ProductSnapshot.write(file, List.of(longName, regular))).isEqualTo(1);
+
+        ProductSnapshot snapshot = ProductSnapshot.open(file);
+        Assertions.assertThat(snapshot.find(longName.id())).isEmpty();
+        Assertions.assertThat(snapshot.find(regular.id())).contains(regular);
+    }
+
+    @Test
+    void shouldKeepServingOpenedSnapshotAfterFileIsReplaced() throws Exception {
+        Path file = directory.resolve("catalog.snapshot");
+        Product before = aProduct(UUID.randomUUID(), "Before", new Money("10"), true);
+        Product after = aProduct(UUID.randomUUID(), "After", new Money("20"), true);
+
+        ProductSnapshot.write(file, List.of(before));
+        ProductSnapshot current = ProductSnapshot.open(file);
+
+        ProductSnapshot.write(file, List.of(after));
+        ProductSnapshot replaced = ProductSnapshot.open(file);
+
+        Assertions.assertThat(current.find(before.id())).contains(before);
+        Assertions.assertThat(replaced.find(after.id())).contains(after);
+        Assertions.assertThat(replaced.find(before.id())).isEmpty();
+        try (var files = Files.list(directory)) {
+            Assertions.assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    void shouldRejectFileWithUnknownFormat() throws Exception {
+        Path file = directory.resolve("catalog.snapshot");
+        Files.write(file, new byte[ProductSnapshot.HEADER_SIZE]);
+
+        Assertions.assertThatIllegalStateException().isThrownBy(() -> ProductSnapshot.open(file));
+    }
+
+    private Product aProduct(UUID id, String name, Money price, boolean inStock) {
+        return Product.builder()
+                .id(new ProductId(id))
+                .name(new ProductName(name))
+                .price(price)
+                .inStock(inStock)
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationRequest;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationResult;
+import com.algaworks.algashop.ordering.infrastructure.resilience.ResilientIntegrations;
+import com.algaworks.algashop.ordering.presentation.GatewayTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ShippingCostServiceRapidexImplTest {
+
+    @Mock
+    private RapiDexAPIClient rapiDexAPIClient;
+
+    private ShippingCostServiceRapidexImpl shippingCostService;
+
+    @BeforeEach
+    void setup() {
+        shippingCostService = newService(Duration.ofHours(1));
+    }
+
+    @Test
+    void shouldCallRapidexOnlyOncePerZipCodePair() {
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        CalculationResult first = shippingCostService.calculate(request);
+        CalculationResult second = shippingCostService.calculate(
+                new CalculationRequest(new ZipCode("12345"), new ZipCode("54321")));
+
+        assertThat(first.cost()).isEqualTo(new Money("35.50"));
+        assertThat(second.cost()).isEqualTo(first.cost());
+        assertThat(second.expectedDate()).isEqualTo(LocalDate.now().plusDays(4));
+        Mockito.verify(rapiDexAPIClient, Mockito.times(1)).calculate(Mockito.any(DeliveryCostRequest.class));
+    }
+
+    @Test
+    void shouldQuoteEachDestinationSeparately() {
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L));
+
+        shippingCostService.calculate(new CalculationRequest(new ZipCode("12345"), new ZipCode("54321")));
+        shippingCostService.calculate(new CalculationRequest(new ZipCode("12345"), new ZipCode("99999")));
+
+        Mockito.verify(rapiDexAPIClient, Mockito.times(2)).calculate(Mockito.any(DeliveryCostRequest.class));
+    }
+
+    @Test
+    void shouldServeLastKnownQuoteWhenRapidexFails() {
+        shippingCostService = newService(Duration.ZERO);
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        CalculationResult first = shippingCostService.calculate(request);
+        CalculationResult second = shippingCostService.calculate(request);
+
+        assertThat(second.cost()).isEqualTo(first.cost());
+        Mockito.verify(rapiDexAPIClient, Mockito.times(2)).calculate(Mockito.any(DeliveryCostRequest.class));
+    }
+
+    @Test
+    void shouldServeLastKnownQuoteWhenRapidexReturnsServerError() {
+        shippingCostService = newService(Duration.ZERO);
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        CalculationResult first = shippingCostService.calculate(request);
+        CalculationResult second = shippingCostService.calculate(request);
+
+        assertThat(second.cost()).isEqualTo(first.cost());
+    }
+
+    @Test
+    void shouldPropagateClientErrorWithoutServingLastKnownQuote() {
+        shippingCostService = newService(Duration.ZERO);
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST,
+                        "Bad Request", HttpHeaders.EMPTY, new byte[0], null));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        shippingCostService.calculate(request);
+
+        Assertions.assertThatExceptionOfType(HttpClientErrorException.BadRequest.class)
+                .isThrownBy(() -> shippingCostService.calculate(request));
+    }
+
+    @Test
+    void shouldNotServeQuoteOlderThanMaxStalenessAfterCacheHits() throws InterruptedException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("algashop.integrations.rapidex.resilience.max-staleness", "300ms");
+        shippingCostService = newService(Duration.ofMillis(300), environment);
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenReturn(new DeliveryCostResponse("35.50", 4L))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        shippingCostService.calculate(request);
+        Thread.sleep(200);
+        shippingCostService.calculate(request);
+        Thread.sleep(200);
+
+        Assertions.assertThatExceptionOfType(GatewayTimeoutException.class)
+                .isThrownBy(() -> shippingCostService.calculate(request));
+        Mockito.verify(rapiDexAPIClient, Mockito.times(2)).calculate(Mockito.any(DeliveryCostRequest.class));
+    }
+
+    @Test
+    void shouldTranslateFailureWhenNoQuoteIsKnown() {
+        Mockito.when(rapiDexAPIClient.calculate(Mockito.any(DeliveryCostRequest.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        CalculationRequest request = new CalculationRequest(new ZipCode("12345"), new ZipCode("54321"));
+
+        Assertions.assertThatExceptionOfType(GatewayTimeoutException.class)
+                .isThrownBy(() -> shippingCostService.calculate(request));
+    }
+
+    private ShippingCostServiceRapidexImpl newService(Duration expireAfterWrite) {
+        return newService(expireAfterWrite, new MockEnvironment());
+    }
+
+    private ShippingCostServiceRapidexImpl newService(Duration expireAfterWrite, MockEnvironment environment) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new ShippingCostServiceRapidexImpl(
+                rapiDexAPIClient,
+                meterRegistry,
+                new ResilientIntegrations(environment, meterRegistry),
+                100,
+                expireAfterWrite
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapstruct;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.entity.OrderPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.entity.ShoppingCartPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+import io.hypersistence.tsid.TSID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+class MapStructMapperTest {
+
+    private final MapStructMapper mapper = new MapStructMapper(
+            Mappers.getMapper(OrderOutputMapper.class),
+            Mappers.getMapper(ShoppingCartOutputMapper.class),
+            Mappers.getMapper(CustomerOutputMapper.class));
+
+    @Test
+    void shouldConvertOrderWithTsidsAsStrings() {
+        OrderPersistenceEntity order = OrderPersistenceEntityTestDataBuilder.existingOrder().build();
+
+        OrderDetailOutput output = mapper.convert(order, OrderDetailOutput.class);
+
+        Assertions.assertThat(output.getId()).isEqualTo(new TSID(order.getId()).toString());
+        Assertions.assertThat(output.getCustomer().getId()).isEqualTo(order.getCustomer().getId());
+        Assertions.assertThat(output.getCustomer().getFirstName()).isEqualTo(order.getCustomer().getFirstName());
+        Assertions.assertThat(output.getTotalAmount()).isEqualTo(order.getTotalAmount());
+        Assertions.assertThat(output.getStatus()).isEqualTo(order.getStatus());
+        Assertions.assertThat(output.getItems()).hasSize(order.getItems().size());
+        Assertions.assertThat(output.getItems())
+                .extracting(OrderItemDetailOutput::getOrderId)
+                .containsOnly(output.getId());
+        Assertions.assertThat(output.getItems())
+                .extracting(OrderItemDetailOutput::getId)
+                .containsExactlyInAnyOrderElementsOf(order.getItems().stream()
+                        .map(item -> new TSID(item.getId()).toString())
+                        .toList());
+    }
+
+    @Test
+    void shouldConvertShoppingCart() {
+        ShoppingCartPersistenceEntity shoppingCart = ShoppingCartPersistenceEntityTestDataBuilder
+                .existingShoppingCart().build();
+
+        ShoppingCartOutput output = mapper.convert(shoppingCart, ShoppingCartOutput.class);
+
+        Assertions.assertThat(output.getId()).isEqualTo(shoppingCart.getId());
+        Assertions.assertThat(output.getCustomerId()).isEqualTo(shoppingCart.getCustomerId());
+        Assertions.assertThat(output.getTotalItems()).isEqualTo(shoppingCart.getTotalItems());
+        Assertions.assertThat(output.getItems()).hasSize(2);
+        Assertions.assertThat(output.getItems()).allSatisfy(item -> {
+            Assertions.assertThat(item.getName()).isNotBlank();
+            Assertions.assertThat(item.getAvailable()).isTrue();
+        });
+    }
+
+    @Test
+    void shouldConvertCustomerValueObjects() {
+        Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+
+        CustomerOutput output = mapper.convert(customer, CustomerOutput.class);
+
+        Assertions.assertThat(output.getId()).isEqualTo(customer.id().value());
+        Assertions.assertThat(output.getFirstName()).isEqualTo(customer.fullName().firstName());
+        Assertions.assertThat(output.getLastName()).isEqualTo(customer.fullName().lastName());
+        Assertions.assertThat(output.getBirthDate()).isEqualTo(customer.birthDate().value());
+        Assertions.assertThat(output.getAddress().getZipCode()).isEqualTo(customer.address().zipCode().value());
+    }
+
+    @Test
+    void shouldRejectUnmappedPairs() {
+        ShoppingCartPersistenceEntity shoppingCart = ShoppingCartPersistenceEntityTestDataBuilder
+                .existingShoppingCart().build();
+
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> mapper.convert(shoppingCart, OrderDetailOutput.class));
+    }
+}
@@ -2,4 +2,10 @@ truncate table customer cascade;
 truncate table "order" cascade;
 truncate table order_item cascade;
 truncate table shopping_cart cascade;
-truncate table shopping_cart_item cascade;
\ No newline at end of file
+truncate table shopping_cart_item cascade;
+truncate table customer_sales_stats cascade;
+truncate table customer_sales_stats_entry;
+truncate table outbox_message;
+truncate table customer_loyalty_points_credit cascade;
+update job_watermark set last_processed_at = now(), last_processed_id = 0;
+truncate table product_adjustment_staging;
\ No newline at end of file